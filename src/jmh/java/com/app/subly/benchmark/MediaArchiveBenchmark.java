@@ -0,0 +1,74 @@
+package com.app.subly.benchmark;
+
+import com.app.subly.benchmark.SyntheticProjects.BenchmarkProject;
+import com.app.subly.persistence.SublyProjectIO;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The archive's media path at scale: many @MediaRef images next to a mid-sized project (JSON).
+ * Repeat saves take media digests from the index; loadCold empties the media cache before
+ * every call, so it measures extraction rather than cache hits.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MediaArchiveBenchmark {
+
+    @Param({"20", "200"})
+    public int media;
+
+    private Path dir;
+    private Path archive;
+    private Path target;
+    private BenchmarkProject project;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("subly-bench-");
+        project = SyntheticProjects.withMedia(
+                SyntheticProjects.project(10_000, 42),
+                SyntheticProjects.mediaFiles(dir, media, 7));
+        archive = dir.resolve("fixture.subly");
+        target = dir.resolve("target.subly");
+        SublyProjectIO.save(project, archive);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        SublyProjectIO.clearMediaCache();
+        SyntheticProjects.deleteRecursive(dir);
+    }
+
+    @State(Scope.Thread)
+    public static class ColdCache {
+        @Setup(Level.Invocation)
+        public void clear() {
+            SublyProjectIO.clearMediaCache();
+        }
+    }
+
+    @Benchmark
+    public Path save() throws IOException {
+        SublyProjectIO.save(project, target);
+        return target;
+    }
+
+    @Benchmark
+    public BenchmarkProject load() throws IOException {
+        return SublyProjectIO.load(archive, BenchmarkProject.class);
+    }
+
+    @Benchmark
+    public BenchmarkProject loadCold(ColdCache cold) throws IOException {
+        return SublyProjectIO.load(archive, BenchmarkProject.class);
+    }
+
+    @Benchmark
+    public BenchmarkProject open() throws IOException {
+        return SublyProjectIO.open(archive, BenchmarkProject.class);
+    }
+}
@@ -0,0 +1,78 @@
+package com.app.subly.benchmark;
+
+import com.app.subly.model.SublyProjectFile;
+import com.app.subly.persistence.SublyProjectIO;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round-trips a real SublyProjectFile (with a background image) through SublyProjectIO, as
+ * project.json or project.smile: save, load from a warm media cache, load with the cache emptied
+ * before every call, and the lazy open used by the UI.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProjectArchiveBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int subtitles;
+
+    @Param({"json", "smile"})
+    public String format;
+
+    private Path dir;
+    private Path archive;
+    private Path target;
+    private SublyProjectFile project;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("subly-bench-");
+        project = SyntheticProjects.project(subtitles, 42);
+        project.setSchemaVersion("smile".equals(format)
+                ? SublyProjectFile.BINARY_SCHEMA_VERSION : SublyProjectFile.JSON_SCHEMA_VERSION);
+        SyntheticProjects.withBackground(project, SyntheticProjects.mediaFiles(dir, 1, 7).getFirst());
+        archive = dir.resolve("fixture.subly");
+        target = dir.resolve("target.subly");
+        SublyProjectIO.save(project, archive);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        SublyProjectIO.clearMediaCache();
+        SyntheticProjects.deleteRecursive(dir);
+    }
+
+    @State(Scope.Thread)
+    public static class ColdCache {
+        @Setup(Level.Invocation)
+        public void clear() {
+            SublyProjectIO.clearMediaCache();
+        }
+    }
+
+    @Benchmark
+    public Path save() throws IOException {
+        SublyProjectIO.save(project, target);
+        return target;
+    }
+
+    @Benchmark
+    public SublyProjectFile load() throws IOException {
+        return SublyProjectIO.load(archive, SublyProjectFile.class);
+    }
+
+    @Benchmark
+    public SublyProjectFile loadCold(ColdCache cold) throws IOException {
+        return SublyProjectIO.load(archive, SublyProjectFile.class);
+    }
+
+    @Benchmark
+    public SublyProjectFile open() throws IOException {
+        return SublyProjectIO.open(archive, SublyProjectFile.class);
+    }
+}
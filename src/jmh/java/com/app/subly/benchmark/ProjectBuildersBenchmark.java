@@ -0,0 +1,32 @@
+package com.app.subly.benchmark;
+
+import com.app.subly.model.SublyProjectFile;
+import com.app.subly.persistence.ProjectBuilders;
+import com.app.subly.project.SublyProjectSession;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot taken on the FX thread before every save.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProjectBuildersBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int subtitles;
+
+    private SublyProjectSession session;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        session = new SublyProjectSession();
+        session.getChapters().setAll(SyntheticProjects.project(subtitles, 42).getChapters());
+    }
+
+    @Benchmark
+    public SublyProjectFile fromUi() {
+        return ProjectBuilders.fromUi("bench.subly", session);
+    }
+}
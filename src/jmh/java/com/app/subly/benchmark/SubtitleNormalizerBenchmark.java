@@ -0,0 +1,35 @@
+package com.app.subly.benchmark;
+
+import com.app.subly.model.Subtitle;
+import com.app.subly.model.SubtitleNormalizer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SubtitleNormalizerBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int subtitles;
+
+    private List<Subtitle> rows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rows = SyntheticProjects.rows(subtitles, 42);
+        // Trailing blank rows, as left behind by the editor
+        for (int i = 0; i < 10; i++) {
+            rows.add(new Subtitle(rows.size() + 1, "", " "));
+        }
+    }
+
+    @Benchmark
+    public List<Subtitle> normalizeList() {
+        List<Subtitle> list = new ArrayList<>(rows);
+        SubtitleNormalizer.normalizeList(list);
+        return list;
+    }
+}
@@ -0,0 +1,126 @@
+package com.app.subly.benchmark;
+
+import com.app.subly.component.MultilineTableCell;
+import com.app.subly.component.RowNumberCell;
+import com.app.subly.model.Subtitle;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.scene.Scene;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.stage.Stage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scrolling and resizing the subtitle table: each op jumps to another page of rows (or toggles the
+ * window width) and runs CSS and layout, so cell reuse, text measurement and styling are measured
+ * together. Run with -Pjmh.includes=SubtitleTableScroll. Needs a display, or the headless
+ * Monocle glass platform (org.testfx:openjfx-monocle) on the class path with
+ * -Dglass.platform=Monocle -Dmonocle.platform=Headless -Dprism.order=sw; either way text layout
+ * loads the native Pango libraries, so a bare container without them fails in setUp.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SubtitleTableScrollBenchmark {
+
+    // Jump far enough that every op shows a fresh page of rows
+    private static final int STRIDE = 37;
+
+    @Param({"1000", "10000"})
+    public int subtitles;
+
+    private Stage stage;
+    private TableView<Subtitle> table;
+    private int position;
+    private boolean wide;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        List<Subtitle> rows = SyntheticProjects.rows(subtitles, 42);
+        startToolkit();
+        onFx(() -> {
+            table = new TableView<>(FXCollections.observableArrayList(rows));
+            table.setEditable(true);
+            table.getStyleClass().add(MultilineTableCell.TABLE_STYLE_CLASS);
+            table.getStylesheets().add(MultilineTableCell.class.getResource(MultilineTableCell.STYLESHEET).toExternalForm());
+
+            TableColumn<Subtitle, Integer> index = new TableColumn<>("#");
+            index.setCellValueFactory(cd -> new ReadOnlyObjectWrapper<>(cd.getValue().getId()));
+            index.setCellFactory(col -> new RowNumberCell());
+            TableColumn<Subtitle, String> primary = new TableColumn<>("Primary Text");
+            primary.setCellValueFactory(cd -> new ReadOnlyObjectWrapper<>(cd.getValue().getPrimaryText()));
+            primary.setCellFactory(col -> new MultilineTableCell());
+            TableColumn<Subtitle, String> secondary = new TableColumn<>("Secondary Text");
+            secondary.setCellValueFactory(cd -> new ReadOnlyObjectWrapper<>(cd.getValue().getSecondaryText()));
+            secondary.setCellFactory(col -> new MultilineTableCell());
+            table.getColumns().setAll(List.of(index, primary, secondary));
+            table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+
+            stage = new Stage();
+            stage.setScene(new Scene(table, 1000, 800));
+            stage.show();
+            table.layout();
+            return null;
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        onFx(() -> {
+            stage.hide();
+            return null;
+        });
+    }
+
+    @Benchmark
+    public int scrollPage() throws Exception {
+        return onFx(() -> {
+            position = (position + STRIDE) % subtitles;
+            table.scrollTo(position);
+            table.applyCss();
+            table.layout();
+            return position;
+        });
+    }
+
+    // Column resize: both text columns re-wrap every visible row
+    @Benchmark
+    public boolean resizeColumns() throws Exception {
+        return onFx(() -> {
+            wide = !wide;
+            stage.setWidth(wide ? 1200 : 1000);
+            table.applyCss();
+            table.layout();
+            return wide;
+        });
+    }
+
+    private static void startToolkit() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            Platform.startup(started::countDown);
+        } catch (IllegalStateException alreadyRunning) {
+            started.countDown();
+        }
+        Platform.setImplicitExit(false);
+        started.await();
+    }
+
+    private static <T> T onFx(Callable<T> work) throws Exception {
+        FutureTask<T> task = new FutureTask<>(work);
+        Platform.runLater(task);
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+}
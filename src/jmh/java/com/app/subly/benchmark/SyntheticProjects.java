@@ -0,0 +1,127 @@
+package com.app.subly.benchmark;
+
+import com.app.subly.SublyGenerator;
+import com.app.subly.SublyGenerator.Spec;
+import com.app.subly.model.MediaRef;
+import com.app.subly.model.SublyProjectFile;
+import com.app.subly.model.Subtitle;
+import com.app.subly.model.enums.BackgroundType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic projects of a given size for the benchmarks, built with SublyGenerator.
+ */
+final class SyntheticProjects {
+
+    static final int SUBTITLES_PER_CHAPTER = 500;
+    static final int MEDIA_BYTES = 64 * 1024;
+
+    private SyntheticProjects() {
+    }
+
+    // Generator projects in chapters of SUBTITLES_PER_CHAPTER rows, without a background image
+    static SublyProjectFile project(int subtitles, long seed) {
+        int chapters = Math.max(1, subtitles / SUBTITLES_PER_CHAPTER);
+        Spec spec = spec(chapters, Math.min(subtitles, SUBTITLES_PER_CHAPTER), seed);
+        return SublyGenerator.project(spec, new Random(seed));
+    }
+
+    static List<Subtitle> rows(int count, long seed) {
+        return SublyGenerator.rows(spec(1, count, seed), count, new Random(seed));
+    }
+
+    private static Spec spec(int chapters, int subtitlesPerChapter, long seed) {
+        Spec defaults = Spec.defaults(chapters, subtitlesPerChapter);
+        return new Spec(chapters, subtitlesPerChapter, defaults.multilineRatio(), defaults.secondaryRatio(),
+                List.of(BackgroundType.SOLID_COLOR), 0, 0, false, seed);
+    }
+
+    static List<Path> mediaFiles(Path dir, int count, long seed) throws IOException {
+        Random random = new Random(seed);
+        List<Path> files = new ArrayList<>(count);
+        byte[] bytes = new byte[MEDIA_BYTES];
+        for (int i = 0; i < count; i++) {
+            random.nextBytes(bytes);
+            Path file = dir.resolve("background-" + i + (i % 2 == 0 ? ".png" : ".jpg"));
+            Files.write(file, bytes);
+            files.add(file);
+        }
+        return files;
+    }
+
+    // The one image a real project carries: the projector background
+    static SublyProjectFile withBackground(SublyProjectFile project, Path image) {
+        project.getSettings().setBackgroundType(BackgroundType.IMAGE);
+        project.getSettings().setProjectorImageUri(image.toString());
+        return project;
+    }
+
+    static BenchmarkProject withMedia(SublyProjectFile project, List<Path> media) {
+        BenchmarkProject bench = new BenchmarkProject();
+        bench.setProject(project);
+        for (Path file : media) {
+            MediaSlot slot = new MediaSlot();
+            slot.setUri(file.toString());
+            bench.getMedia().add(slot);
+        }
+        return bench;
+    }
+
+    static void deleteRecursive(Path root) throws IOException {
+        if (root == null || !Files.exists(root)) return;
+        try (var stream = Files.walk(root)) {
+            stream.sorted(Comparator.reverseOrder())
+                    .forEach(p -> {
+                        try {
+                            Files.deleteIfExists(p);
+                        } catch (IOException ignored) {
+                        }
+                    });
+        }
+    }
+
+    /**
+     * SublyProjectFile persists a single image (the projector background); this wrapper adds
+     * any number of @MediaRef slots so the archive's media path can be measured at scale.
+     */
+    public static final class BenchmarkProject {
+        private SublyProjectFile project;
+        private List<MediaSlot> media = new ArrayList<>();
+
+        public SublyProjectFile getProject() {
+            return project;
+        }
+
+        public void setProject(SublyProjectFile project) {
+            this.project = project;
+        }
+
+        public List<MediaSlot> getMedia() {
+            return media;
+        }
+
+        public void setMedia(List<MediaSlot> media) {
+            this.media = media;
+        }
+    }
+
+    public static final class MediaSlot {
+        @MediaRef
+        private String uri;
+
+        public String getUri() {
+            return uri;
+        }
+
+        public void setUri(String uri) {
+            this.uri = uri;
+        }
+    }
+}
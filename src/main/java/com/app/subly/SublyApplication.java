@@ -35,15 +35,22 @@ public class SublyApplication extends Application {
         configureStage(primaryStage, controlPanel.getScene());
         primaryStage.show();
 
+        // Closing goes through the same unsaved-changes prompt as File > Exit, which exits once accepted
         primaryStage.setOnCloseRequest(e -> {
-            if (projector != null && projector.isVisible()) {
-                projector.close();
-            }
+            e.consume();
+            controlPanel.getController().requestExit();
         });
 
         lockMinimumUsableSize(primaryStage);
     }
 
+    @Override
+    public void stop() {
+        if (projector != null && projector.isVisible()) {
+            projector.close();
+        }
+    }
+
     private void configureStage(Stage stage, Scene scene) {
         stage.setScene(scene);
         stage.getIcons().add(AppIconUtils.getAppIcon());
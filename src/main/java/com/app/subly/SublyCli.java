@@ -0,0 +1,331 @@
+package com.app.subly;
+
+import com.app.subly.model.Chapter;
+import com.app.subly.model.SublyProjectFile;
+import com.app.subly.model.SublySettings;
+import com.app.subly.model.Subtitle;
+import com.app.subly.persistence.AppSettingsIO;
+import com.app.subly.persistence.ProjectMedia;
+import com.app.subly.persistence.SubtitleFileReader;
+import com.app.subly.persistence.SublyProjectIO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Headless command line for batch work on .subly archives; never starts the JavaFX toolkit.
+ * <pre>
+ * SublyCli build    [--out=DIR] [--binary] [--jobs=N] FILE...   .json, .txt script, .srt, .vtt or .tsv -> .subly
+ * SublyCli validate [--jobs=N] ARCHIVE...                        model, media references and CRCs
+ * SublyCli repack   [--binary|--json] [--jobs=N] ARCHIVE...      normalize and rewrite in place
+ * SublyCli diff     ARCHIVE_A ARCHIVE_B                          settings, chapters and rows
+ * </pre>
+ * Script (.txt) format: "# Title" starts a chapter, blank lines separate subtitles and a line
+ * "--" inside a subtitle separates primary from secondary text; the lines of a text are joined
+ * with the model's {@code \n} escape, as the table editor stores them. SRT, VTT and TSV files are read
+ * by SubtitleFileReader: one chapter per file, or per "# Title" marker.
+ * Exits with 0 on success, 1 if any file failed (or differs, for diff) and 2 on usage errors.
+ */
+public final class SublyCli {
+
+    private static final String USAGE = """
+            Usage:
+              SublyCli build    [--out=DIR] [--binary] [--jobs=N] FILE...
+              SublyCli validate [--jobs=N] ARCHIVE...
+              SublyCli repack   [--binary|--json] [--jobs=N] ARCHIVE...
+              SublyCli diff     ARCHIVE_A ARCHIVE_B""";
+    private static final String CHAPTER_PREFIX = "# ";
+    private static final String SECONDARY_SEPARATOR = "--";
+    private static final String LINE_BREAK = "\\n";
+
+    private interface FileTask {
+        // Returns the problems found; throwing marks the file failed as well
+        List<String> run(Path file) throws IOException;
+    }
+
+    private SublyCli() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    static int run(String[] args) {
+        if (args.length == 0) {
+            System.err.println(USAGE);
+            return 2;
+        }
+        String command = args[0];
+        Path out = null;
+        Integer schema = null;
+        int jobs = Runtime.getRuntime().availableProcessors();
+        List<Path> files = new ArrayList<>();
+        try {
+            for (int i = 1; i < args.length; i++) {
+                String arg = args[i];
+                if (arg.startsWith("--out=")) out = Paths.get(arg.substring("--out=".length()));
+                else if (arg.startsWith("--jobs=")) jobs = Math.max(1, Integer.parseInt(arg.substring("--jobs=".length())));
+                else if (arg.equals("--binary")) schema = SublyProjectFile.BINARY_SCHEMA_VERSION;
+                else if (arg.equals("--json")) schema = SublyProjectFile.JSON_SCHEMA_VERSION;
+                else if (arg.startsWith("--")) throw new IllegalArgumentException("Unknown option: " + arg);
+                else files.add(Paths.get(arg));
+            }
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+
+        Path outDir = out;
+        Integer schemaVersion = schema;
+        switch (command) {
+            case "build" -> {
+                return forEachFile(files, jobs, file -> build(file, outDir, schemaVersion));
+            }
+            case "validate" -> {
+                return forEachFile(files, jobs, file -> SublyProjectIO.validate(file, SublyProjectFile.class));
+            }
+            case "repack" -> {
+                return forEachFile(files, jobs, file -> repack(file, schemaVersion));
+            }
+            case "diff" -> {
+                if (files.size() != 2) {
+                    System.err.println(USAGE);
+                    return 2;
+                }
+                try {
+                    List<String> differences = diff(files.get(0), files.get(1));
+                    differences.forEach(System.out::println);
+                    return differences.isEmpty() ? 0 : 1;
+                } catch (IOException e) {
+                    System.err.println("FAIL " + e.getMessage());
+                    return 1;
+                }
+            }
+            default -> {
+                System.err.println("Unknown command: " + command);
+                System.err.println(USAGE);
+                return 2;
+            }
+        }
+    }
+
+    // Runs task on every file across jobs threads; reports in argument order
+    private static int forEachFile(List<Path> files, int jobs, FileTask task) {
+        if (files.isEmpty()) {
+            System.err.println(USAGE);
+            return 2;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(jobs, files.size()));
+        try {
+            List<Future<List<String>>> results = new ArrayList<>(files.size());
+            for (Path file : files) {
+                results.add(pool.submit(() -> task.run(file)));
+            }
+            int failed = 0;
+            for (int i = 0; i < files.size(); i++) {
+                Path file = files.get(i);
+                try {
+                    List<String> problems = results.get(i).get();
+                    if (problems.isEmpty()) {
+                        System.out.println("OK   " + file);
+                    } else {
+                        failed++;
+                        System.out.println("FAIL " + file);
+                        problems.forEach(p -> System.out.println("     " + p));
+                    }
+                } catch (ExecutionException e) {
+                    failed++;
+                    System.out.println("FAIL " + file + ": " + e.getCause().getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return 1;
+                }
+            }
+            System.out.println(files.size() - failed + "/" + files.size() + " succeeded");
+            return failed == 0 ? 0 : 1;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static List<String> build(Path input, Path outDir, Integer schemaVersion) throws IOException {
+        String name = input.getFileName().toString();
+        SublyProjectFile project;
+        if (SubtitleFileReader.isSupported(input)) {
+            project = readSubtitles(input);
+        } else if (name.toLowerCase(Locale.ROOT).endsWith(".txt")) {
+            project = readScript(input);
+        } else {
+            project = SublyProjectIO.load(input, SublyProjectFile.class);
+        }
+        project.setFileName(stripExt(name));
+        if (schemaVersion != null) project.setSchemaVersion(schemaVersion);
+        if (project.getSettings() == null) project.setSettings(AppSettingsIO.load());
+        project.normalize();
+        Path dir = outDir != null ? outDir : input.toAbsolutePath().getParent();
+        SublyProjectIO.save(project, dir.resolve(stripExt(name) + ".subly"));
+        return List.of();
+    }
+
+    private static List<String> repack(Path archive, Integer schemaVersion) throws IOException {
+        SublyProjectFile project = SublyProjectIO.open(archive, SublyProjectFile.class);
+        if (schemaVersion != null) project.setSchemaVersion(schemaVersion);
+        project.normalize();
+        SublyProjectIO.save(project, archive);
+        return List.of();
+    }
+
+    private static SublyProjectFile readScript(Path script) throws IOException {
+        SublyProjectFile project = new SublyProjectFile();
+        Chapter chapter = null;
+        StringBuilder primary = new StringBuilder();
+        StringBuilder secondary = new StringBuilder();
+        boolean inSecondary = false;
+        try (BufferedReader in = Files.newBufferedReader(script, StandardCharsets.UTF_8)) {
+            String line;
+            while (true) {
+                line = in.readLine();
+                boolean endOfBlock = line == null || line.isBlank() || line.startsWith(CHAPTER_PREFIX);
+                if (endOfBlock && (!primary.isEmpty() || !secondary.isEmpty())) {
+                    if (chapter == null) chapter = addChapter(project, "Chapter 1");
+                    chapter.getSubtitles().add(new Subtitle(chapter.getSubtitles().size() + 1,
+                            primary.toString(), secondary.toString()));
+                    primary.setLength(0);
+                    secondary.setLength(0);
+                }
+                if (endOfBlock) inSecondary = false;
+                if (line == null) break;
+                if (line.startsWith(CHAPTER_PREFIX)) {
+                    chapter = addChapter(project, line.substring(CHAPTER_PREFIX.length()).trim());
+                } else if (line.strip().equals(SECONDARY_SEPARATOR)) {
+                    inSecondary = true;
+                } else if (!line.isBlank()) {
+                    StringBuilder target = inSecondary ? secondary : primary;
+                    if (!target.isEmpty()) target.append(LINE_BREAK);
+                    target.append(line.strip());
+                }
+            }
+        }
+        return project;
+    }
+
+    private static SublyProjectFile readSubtitles(Path file) throws IOException {
+        SublyProjectFile project = new SublyProjectFile();
+        String fileTitle = stripExt(file.getFileName().toString());
+        Chapter[] chapter = {null};
+        String[] nextTitle = {fileTitle};
+        SubtitleFileReader.read(file, new SubtitleFileReader.Sink() {
+            @Override
+            public void chapter(String title) {
+                chapter[0] = null;
+                nextTitle[0] = title.isBlank() ? fileTitle : title;
+            }
+
+            @Override
+            public void subtitle(String primary, String secondary) {
+                if (chapter[0] == null) chapter[0] = addChapter(project, nextTitle[0]);
+                List<Subtitle> rows = chapter[0].getSubtitles();
+                rows.add(new Subtitle(rows.size() + 1, primary, secondary));
+            }
+        });
+        return project;
+    }
+
+    private static Chapter addChapter(SublyProjectFile project, String title) {
+        Chapter chapter = new Chapter();
+        chapter.setIndex(project.getChapters().size() + 1);
+        chapter.setTitle(title);
+        project.getChapters().add(chapter);
+        return chapter;
+    }
+
+    static List<String> diff(Path a, Path b) throws IOException {
+        SublyProjectFile left = SublyProjectIO.open(a, SublyProjectFile.class);
+        SublyProjectFile right = SublyProjectIO.open(b, SublyProjectFile.class);
+        left.normalize();
+        right.normalize();
+        List<String> out = new ArrayList<>();
+        compare(out, "schemaVersion", left.getSchemaVersion(), right.getSchemaVersion());
+        compare(out, "fileName", left.getFileName(), right.getFileName());
+        diffSettings(out, left.getSettings(), right.getSettings());
+
+        List<Chapter> lc = left.getChapters();
+        List<Chapter> rc = right.getChapters();
+        for (int c = 0; c < Math.max(lc.size(), rc.size()); c++) {
+            String where = "chapter " + (c + 1);
+            if (c >= lc.size()) {
+                out.add("+ " + where + " '" + rc.get(c).getTitle() + "'");
+                continue;
+            }
+            if (c >= rc.size()) {
+                out.add("- " + where + " '" + lc.get(c).getTitle() + "'");
+                continue;
+            }
+            compare(out, where + " title", lc.get(c).getTitle(), rc.get(c).getTitle());
+            List<Subtitle> ls = lc.get(c).getSubtitles();
+            List<Subtitle> rs = rc.get(c).getSubtitles();
+            for (int r = 0; r < Math.max(ls.size(), rs.size()); r++) {
+                String row = where + " row " + (r + 1);
+                if (r >= ls.size()) {
+                    out.add("+ " + row + " " + quote(rs.get(r).getPrimaryText()));
+                } else if (r >= rs.size()) {
+                    out.add("- " + row + " " + quote(ls.get(r).getPrimaryText()));
+                } else {
+                    compare(out, row + " primary", ls.get(r).getPrimaryText(), rs.get(r).getPrimaryText());
+                    compare(out, row + " secondary", ls.get(r).getSecondaryText(), rs.get(r).getSecondaryText());
+                }
+            }
+        }
+        return out;
+    }
+
+    private static void diffSettings(List<String> out, SublySettings l, SublySettings r) {
+        if (l == null || r == null) {
+            if (l != r) out.add("~ settings: " + (l == null ? "missing" : "present")
+                    + " -> " + (r == null ? "missing" : "present"));
+            return;
+        }
+        // Archive references name different archives; the media entry is what identifies the image
+        compare(out, "projectorImage", mediaName(l.getProjectorImageUri()), mediaName(r.getProjectorImageUri()));
+        compare(out, "backgroundType", l.getBackgroundType(), r.getBackgroundType());
+        compare(out, "projectorColor", l.getProjectorColor(), r.getProjectorColor());
+        compare(out, "subtitleFontFamily", l.getSubtitleFontFamily(), r.getSubtitleFontFamily());
+        compare(out, "subtitleColor", l.getSubtitleColor(), r.getSubtitleColor());
+        compare(out, "subtitleFontSize", l.getSubtitleFontSize(), r.getSubtitleFontSize());
+        compare(out, "fontWeight", l.getFontWeight(), r.getFontWeight());
+        compare(out, "subtitleBorderWeight", l.getSubtitleBorderWeight(), r.getSubtitleBorderWeight());
+        compare(out, "subtitleBorderColor", l.getSubtitleBorderColor(), r.getSubtitleBorderColor());
+    }
+
+    private static String mediaName(String ref) {
+        return ProjectMedia.isArchiveRef(ref) ? ProjectMedia.entryOf(ref) : ref;
+    }
+
+    private static void compare(List<String> out, String what, Object l, Object r) {
+        if (!Objects.equals(l, r)) {
+            out.add("~ " + what + ": " + quote(l) + " -> " + quote(r));
+        }
+    }
+
+    private static String quote(Object v) {
+        return v == null ? "null" : "'" + v.toString().replace("\n", "\\n") + "'";
+    }
+
+    private static String stripExt(String n) {
+        int i = n.lastIndexOf('.');
+        return (i > 0) ? n.substring(0, i) : n;
+    }
+}
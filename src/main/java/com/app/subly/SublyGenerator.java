@@ -0,0 +1,230 @@
+package com.app.subly;
+
+import com.app.subly.model.Chapter;
+import com.app.subly.model.SublyProjectFile;
+import com.app.subly.model.SublySettings;
+import com.app.subly.model.Subtitle;
+import com.app.subly.model.enums.BackgroundType;
+import com.app.subly.persistence.AppSettingsIO;
+import com.app.subly.persistence.SublyProjectIO;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Headless entry point that writes synthetic .subly archives for load testing, profiling
+ * and stress-testing the editor with large projects. Does not start the JavaFX toolkit.
+ * <p>
+ * Usage: SublyGenerator [--out=DIR] [--count=N] [--chapters=N] [--subtitles=N per chapter]
+ * [--multiline=0.25] [--secondary=0.8] [--backgrounds=image,color,transparent]
+ * [--image-size=1920x1080] [--binary] [--seed=N]
+ * <p>
+ * Archive i uses backgrounds[i % backgrounds.length]; image backgrounds are real PNGs.
+ * Multi-line texts use the model's {@code \n} escape between lines, as the table editor stores them.
+ */
+public final class SublyGenerator {
+
+    private static final String LINE_BREAK = "\\n";
+    private static final String[] WORDS = {
+            "grace", "light", "morning", "river", "glory", "holy", "sing", "praise", "peace", "heart",
+            "forever", "mountain", "shepherd", "faithful", "mercy", "rise", "name", "wonder", "kingdom", "joy",
+            "ánh", "sáng", "bình", "an", "tình", "yêu", "ngợi", "khen", "thánh", "linh"
+    };
+
+    public record Spec(int chapters, int subtitlesPerChapter, double multilineRatio, double secondaryRatio,
+                       List<BackgroundType> backgrounds, int imageWidth, int imageHeight,
+                       boolean binary, long seed) {
+
+        public static Spec defaults(int chapters, int subtitlesPerChapter) {
+            return new Spec(chapters, subtitlesPerChapter, 0.25, 0.8,
+                    List.of(BackgroundType.IMAGE, BackgroundType.SOLID_COLOR, BackgroundType.TRANSPARENT),
+                    1920, 1080, false, 42);
+        }
+    }
+
+    private SublyGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        Spec defaults = Spec.defaults(20, 200);
+        Path out = Paths.get(".");
+        int count = 1;
+        int chapters = defaults.chapters();
+        int subtitles = defaults.subtitlesPerChapter();
+        double multiline = defaults.multilineRatio();
+        double secondary = defaults.secondaryRatio();
+        List<BackgroundType> backgrounds = defaults.backgrounds();
+        int width = defaults.imageWidth();
+        int height = defaults.imageHeight();
+        boolean binary = defaults.binary();
+        long seed = defaults.seed();
+        try {
+            for (String arg : args) {
+                int eq = arg.indexOf('=');
+                String key = eq >= 0 ? arg.substring(0, eq) : arg;
+                String value = eq >= 0 ? arg.substring(eq + 1) : "";
+                switch (key) {
+                    case "--out" -> out = Paths.get(value);
+                    case "--count" -> count = Integer.parseInt(value);
+                    case "--chapters" -> chapters = Integer.parseInt(value);
+                    case "--subtitles" -> subtitles = Integer.parseInt(value);
+                    case "--multiline" -> multiline = Double.parseDouble(value);
+                    case "--secondary" -> secondary = Double.parseDouble(value);
+                    case "--backgrounds" -> backgrounds = parseBackgrounds(value);
+                    case "--image-size" -> {
+                        String[] wh = value.toLowerCase(Locale.ROOT).split("x");
+                        width = Integer.parseInt(wh[0]);
+                        height = Integer.parseInt(wh[1]);
+                    }
+                    case "--binary" -> binary = true;
+                    case "--seed" -> seed = Long.parseLong(value);
+                    default -> throw new IllegalArgumentException("Unknown option: " + arg);
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: SublyGenerator [--out=DIR] [--count=N] [--chapters=N] [--subtitles=N]"
+                    + " [--multiline=R] [--secondary=R] [--backgrounds=image,color,transparent]"
+                    + " [--image-size=WxH] [--binary] [--seed=N]");
+            System.exit(2);
+            return;
+        }
+
+        Spec spec = new Spec(chapters, subtitles, multiline, secondary, backgrounds, width, height, binary, seed);
+        Files.createDirectories(out);
+        for (int i = 0; i < count; i++) {
+            Path target = out.resolve("synthetic-" + (i + 1) + ".subly");
+            writeArchive(spec, i, target);
+            System.out.println("Wrote " + target.toAbsolutePath());
+        }
+    }
+
+    /**
+     * Builds and saves archive number index of the given spec; its background image (if any)
+     * is rendered to a temp file, packed by the save and removed afterwards.
+     */
+    public static void writeArchive(Spec spec, int index, Path target) throws IOException {
+        Random random = new Random(spec.seed() + index);
+        SublyProjectFile project = project(spec, random);
+        project.setFileName(stripExt(target.getFileName().toString()));
+        BackgroundType background = spec.backgrounds().get(index % spec.backgrounds().size());
+        SublySettings settings = project.getSettings();
+        settings.setBackgroundType(background);
+        Path image = null;
+        try {
+            switch (background) {
+                case IMAGE -> {
+                    image = Files.createTempFile("subly-generated-", ".png");
+                    writeImage(image, spec.imageWidth(), spec.imageHeight(), random);
+                    settings.setProjectorImageUri(image.toString());
+                }
+                case SOLID_COLOR -> settings.setProjectorColor(String.format("#%06X", random.nextInt(0x1000000)));
+                case TRANSPARENT -> {
+                }
+            }
+            SublyProjectIO.save(project, target);
+        } finally {
+            if (image != null) Files.deleteIfExists(image);
+        }
+    }
+
+    /**
+     * Project of spec.chapters() chapters with spec.subtitlesPerChapter() rows each; no media.
+     */
+    public static SublyProjectFile project(Spec spec, Random random) {
+        SublyProjectFile project = new SublyProjectFile();
+        project.setSchemaVersion(spec.binary()
+                ? SublyProjectFile.BINARY_SCHEMA_VERSION : SublyProjectFile.JSON_SCHEMA_VERSION);
+        project.setSettings(AppSettingsIO.load());
+        List<Chapter> chapters = new ArrayList<>(spec.chapters());
+        for (int c = 0; c < spec.chapters(); c++) {
+            Chapter chapter = new Chapter();
+            chapter.setIndex(c + 1);
+            chapter.setTitle("Chapter " + (c + 1) + " - " + words(random, 2 + random.nextInt(3)));
+            chapter.setSubtitles(rows(spec, spec.subtitlesPerChapter(), random));
+            chapters.add(chapter);
+        }
+        project.setChapters(chapters);
+        project.normalize();
+        return project;
+    }
+
+    public static List<Subtitle> rows(Spec spec, int count, Random random) {
+        List<Subtitle> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String primary = text(spec, random);
+            String secondary = random.nextDouble() < spec.secondaryRatio() ? text(spec, random) : "";
+            rows.add(new Subtitle(i + 1, primary, secondary));
+        }
+        return rows;
+    }
+
+    private static String text(Spec spec, Random random) {
+        int lines = random.nextDouble() < spec.multilineRatio() ? 2 + random.nextInt(3) : 1;
+        StringBuilder sb = new StringBuilder(64 * lines);
+        for (int l = 0; l < lines; l++) {
+            if (l > 0) sb.append(LINE_BREAK);
+            sb.append(words(random, 3 + random.nextInt(8)));
+        }
+        return sb.toString();
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder sb = new StringBuilder(count * 8);
+        for (int w = 0; w < count; w++) {
+            if (w > 0) sb.append(' ');
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    // Gradient with a few random shapes, so every generated image hashes differently
+    private static void writeImage(Path file, int width, int height, Random random) throws IOException {
+        BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        try {
+            g.setPaint(new GradientPaint(0, 0, new Color(random.nextInt(0x1000000)),
+                    width, height, new Color(random.nextInt(0x1000000))));
+            g.fillRect(0, 0, width, height);
+            for (int i = 0; i < 12; i++) {
+                g.setColor(new Color(random.nextInt(0x1000000) | 0x40000000, true));
+                g.fillOval(random.nextInt(width), random.nextInt(height),
+                        width / 8 + random.nextInt(width / 4 + 1), height / 8 + random.nextInt(height / 4 + 1));
+            }
+        } finally {
+            g.dispose();
+        }
+        ImageIO.write(img, "png", file.toFile());
+    }
+
+    private static List<BackgroundType> parseBackgrounds(String value) {
+        List<BackgroundType> types = new ArrayList<>();
+        for (String s : value.split(",")) {
+            types.add(switch (s.trim().toLowerCase(Locale.ROOT)) {
+                case "image" -> BackgroundType.IMAGE;
+                case "color" -> BackgroundType.SOLID_COLOR;
+                case "transparent" -> BackgroundType.TRANSPARENT;
+                default -> throw new IllegalArgumentException("Unknown background: " + s);
+            });
+        }
+        if (types.isEmpty()) throw new IllegalArgumentException("No backgrounds given");
+        return types;
+    }
+
+    private static String stripExt(String n) {
+        int i = n.lastIndexOf('.');
+        return (i > 0) ? n.substring(0, i) : n;
+    }
+}
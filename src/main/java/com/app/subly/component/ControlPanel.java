@@ -16,6 +16,7 @@ import java.io.IOException;
 public class ControlPanel {
     private Scene scene;
     private final SublyProjectSession session;
+    private final ControlPanelController controller;
 
     public ControlPanel(SublyApplication app, Projector projector) throws IOException {
         FXMLLoader loader = new FXMLLoader(getClass().getResource("/views/control_panel_view.fxml"));
@@ -23,11 +24,12 @@ public class ControlPanel {
         scene = new Scene(root);
 
         // wire ShowScreen into controller
-        ControlPanelController controller = loader.getController();
+        controller = loader.getController();
         controller.setShowScreen(app, projector);
 
         this.session = new SublyProjectSession();
         this.session.ensureAtLeastOneChapter();
         controller.setSession(session);
+        controller.offerJournalRecovery();
     }
 }
@@ -2,15 +2,29 @@ package com.app.subly.component;
 
 import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyLongProperty;
+import javafx.beans.property.ReadOnlyLongWrapper;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * Central undo/redo stack for all table edits.
  * Push Edits after you apply the change to the model.
+ * <p>
+ * The history is bounded by an edit count and an estimated size in bytes (see
+ * {@link Edit#estimatedBytes()}); when either is exceeded the oldest undo entries are dropped.
+ * Consecutive edits of the same cell within {@link #COALESCE_MILLIS} are merged into one entry.
+ * <p>
+ * Stacks are kept per scope ({@link #switchTo(Object)}), so each chapter has its own undo that
+ * survives switching away and back; the budget is shared by all scopes.
  */
 public final class EditHistory {
 
@@ -22,6 +36,34 @@ public final class EditHistory {
         default boolean isNoOp() {
             return false;
         }
+
+        /**
+         * Rough retained size of this edit, used for the history budget.
+         */
+        default long estimatedBytes() {
+            return CLOSURE_BYTES;
+        }
+
+        /**
+         * Folds next (pushed right after this edit) into this one; returns false if it cannot.
+         */
+        default boolean absorb(Edit next) {
+            return false;
+        }
+    }
+
+    public static final int DEFAULT_MAX_EDITS = 1000;
+    public static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+    public static final long COALESCE_MILLIS = 2000;
+
+    // Object header plus a couple of captured references
+    private static final long CLOSURE_BYTES = 64;
+
+    /**
+     * Approximate heap size of a String (header, array header, UTF-16 worst case).
+     */
+    public static long estimateBytes(String s) {
+        return s == null ? 0 : 40 + 2L * s.length();
     }
 
     public static Edit of(Runnable undo, Runnable redo) {
@@ -38,6 +80,57 @@ public final class EditHistory {
         };
     }
 
+    /**
+     * Change of one cell's text. Consecutive CellEdits with the same row and column keys are
+     * coalesced, so re-editing a cell while typing keeps a single undo entry.
+     */
+    public static final class CellEdit implements Edit {
+        private final Object row;
+        private final Object column;
+        private final Consumer<String> writer;
+        private final String oldValue;
+        private String newValue;
+        private long touchedAt;
+
+        public CellEdit(Object row, Object column, Consumer<String> writer, String oldValue, String newValue) {
+            this.row = row;
+            this.column = column;
+            this.writer = writer;
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+            this.touchedAt = System.currentTimeMillis();
+        }
+
+        @Override
+        public void undo() {
+            writer.accept(oldValue);
+        }
+
+        @Override
+        public void redo() {
+            writer.accept(newValue);
+        }
+
+        @Override
+        public boolean isNoOp() {
+            return Objects.equals(oldValue, newValue);
+        }
+
+        @Override
+        public long estimatedBytes() {
+            return CLOSURE_BYTES + estimateBytes(oldValue) + estimateBytes(newValue);
+        }
+
+        @Override
+        public boolean absorb(Edit next) {
+            if (!(next instanceof CellEdit e) || e.row != row || e.column != column) return false;
+            if (e.touchedAt - touchedAt > COALESCE_MILLIS) return false;
+            newValue = e.newValue;
+            touchedAt = e.touchedAt;
+            return true;
+        }
+    }
+
     public static final class CompoundEdit implements Edit {
         private final List<Edit> children = new ArrayList<>();
 
@@ -50,6 +143,18 @@ public final class EditHistory {
             return children.isEmpty();
         }
 
+        @Override
+        public boolean isNoOp() {
+            return children.isEmpty();
+        }
+
+        @Override
+        public long estimatedBytes() {
+            long bytes = CLOSURE_BYTES;
+            for (Edit child : children) bytes += child.estimatedBytes();
+            return bytes;
+        }
+
         @Override
         public void undo() {
             for (int i = children.size() - 1; i >= 0; i--) children.get(i).undo();
@@ -61,51 +166,186 @@ public final class EditHistory {
         }
     }
 
-    private final Deque<Edit> undoStack = new ArrayDeque<>();
-    private final Deque<Edit> redoStack = new ArrayDeque<>();
+    // One undo/redo pair per scope (e.g. per chapter id)
+    private static final class Stacks {
+        final Deque<Edit> undo = new ArrayDeque<>();
+        final Deque<Edit> redo = new ArrayDeque<>();
+        long undoBytes;
+        long redoBytes;
+
+        boolean isEmpty() {
+            return undo.isEmpty() && redo.isEmpty();
+        }
+
+        void clearRedo() {
+            redo.clear();
+            redoBytes = 0;
+        }
+    }
+
+    // Access ordered, so the scope used least recently is evicted from first
+    private final Map<Object, Stacks> scopes = new LinkedHashMap<>(16, 0.75f, true);
     private final ReadOnlyBooleanWrapper canUndo = new ReadOnlyBooleanWrapper(false);
     private final ReadOnlyBooleanWrapper canRedo = new ReadOnlyBooleanWrapper(false);
-    private final Runnable postApply; // e.g., ensureTrailingBlankRow + table.refresh
+    private final ReadOnlyLongWrapper estimatedBytes = new ReadOnlyLongWrapper(0);
+    private final Runnable postApply; // e.g., ensureTrailingBlankRow
     private final Runnable markDirty;
+    private final int maxEdits;
+    private final long maxBytes;
+    private Object scope;
+    private Stacks current = new Stacks();
+    private int totalEdits;
+    private long totalBytes;
+    // Only the edit pushed last (with no undo/redo since) may absorb the next push
+    private Edit coalesceTarget;
 
     public EditHistory(Runnable postApply, Runnable markDirty) {
+        this(postApply, markDirty, DEFAULT_MAX_EDITS, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * maxEdits and maxBytes bound all scopes together.
+     */
+    public EditHistory(Runnable postApply, Runnable markDirty, int maxEdits, long maxBytes) {
+        if (maxEdits <= 0 || maxBytes <= 0) throw new IllegalArgumentException("History budget must be positive");
         this.postApply = postApply != null ? postApply : () -> {
         };
         this.markDirty = markDirty != null ? markDirty : () -> {
         };
+        this.maxEdits = maxEdits;
+        this.maxBytes = maxBytes;
+        scopes.put(null, current);
+    }
+
+    /**
+     * Makes key's stacks current (creating them on first use); undo/redo and pushes then apply
+     * to that scope only. The other scopes are kept, within the shared budget.
+     */
+    public void switchTo(Object key) {
+        if (Objects.equals(key, scope)) return;
+        scope = key;
+        current = scopes.computeIfAbsent(key, k -> new Stacks());
+        coalesceTarget = null;
+        updateFlags();
+    }
+
+    /**
+     * Drops key's stacks, e.g. when its chapter is deleted; an unknown key is a no-op. If key was
+     * the current scope, the null scope (nothing shown) becomes current until the next switchTo(),
+     * so the deleted key is not kept in the scope map.
+     */
+    public void forget(Object key) {
+        Stacks removed = scopes.remove(key);
+        if (removed == null) return;
+        totalEdits -= removed.undo.size() + removed.redo.size();
+        totalBytes -= removed.undoBytes + removed.redoBytes;
+        if (removed == current) {
+            scope = null;
+            current = scopes.computeIfAbsent(null, k -> new Stacks());
+            coalesceTarget = null;
+        }
+        updateFlags();
     }
 
     public void push(Edit e) {
         if (e == null || e.isNoOp()) return;
-        undoStack.push(e);
-        redoStack.clear();
+        totalEdits -= current.redo.size();
+        totalBytes -= current.redoBytes;
+        current.clearRedo();
+        Edit top = current.undo.peek();
+        if (top != null && top == coalesceTarget) {
+            long before = top.estimatedBytes();
+            if (top.absorb(e)) {
+                current.undoBytes -= before;
+                totalBytes -= before;
+                if (top.isNoOp()) {
+                    current.undo.pop();
+                    totalEdits--;
+                    coalesceTarget = null;
+                } else {
+                    long after = top.estimatedBytes();
+                    current.undoBytes += after;
+                    totalBytes += after;
+                }
+                updateFlags();
+                markDirty.run();
+                return;
+            }
+        }
+        long bytes = e.estimatedBytes();
+        current.undo.push(e);
+        current.undoBytes += bytes;
+        totalEdits++;
+        totalBytes += bytes;
+        coalesceTarget = e;
+        evict();
+        updateFlags();
+        markDirty.run();
+    }
+
+    /**
+     * Pushes e onto key's undo stack without switching to it, for an edit made in another scope
+     * (e.g. the part of a project-wide replace that falls in a chapter not shown).
+     */
+    public void push(Object key, Edit e) {
+        if (Objects.equals(key, scope)) {
+            push(e);
+            return;
+        }
+        if (e == null || e.isNoOp()) return;
+        Stacks s = scopes.computeIfAbsent(key, k -> new Stacks());
+        totalEdits -= s.redo.size();
+        totalBytes -= s.redoBytes;
+        s.clearRedo();
+        long bytes = e.estimatedBytes();
+        s.undo.push(e);
+        s.undoBytes += bytes;
+        totalEdits++;
+        totalBytes += bytes;
+        evict();
         updateFlags();
         markDirty.run();
     }
 
     public void undo() {
-        if (undoStack.isEmpty()) return;
-        Edit e = undoStack.pop();
+        if (current.undo.isEmpty()) return;
+        Edit e = current.undo.pop();
         e.undo();
-        redoStack.push(e);
+        long bytes = e.estimatedBytes();
+        current.undoBytes -= bytes;
+        current.redo.push(e);
+        current.redoBytes += bytes;
+        coalesceTarget = null;
         updateFlags();
         postApply.run();
         markDirty.run();
     }
 
     public void redo() {
-        if (redoStack.isEmpty()) return;
-        Edit e = redoStack.pop();
+        if (current.redo.isEmpty()) return;
+        Edit e = current.redo.pop();
         e.redo();
-        undoStack.push(e);
+        long bytes = e.estimatedBytes();
+        current.redoBytes -= bytes;
+        current.undo.push(e);
+        current.undoBytes += bytes;
+        coalesceTarget = null;
         updateFlags();
         postApply.run();
         markDirty.run();
     }
 
+    /**
+     * Drops every scope, e.g. when another project is loaded.
+     */
     public void clear() {
-        undoStack.clear();
-        redoStack.clear();
+        scopes.clear();
+        scope = null;
+        current = new Stacks();
+        scopes.put(null, current);
+        totalEdits = 0;
+        totalBytes = 0;
+        coalesceTarget = null;
         updateFlags();
     }
 
@@ -125,8 +365,92 @@ public final class EditHistory {
         return canRedo.get();
     }
 
+    /**
+     * Estimated bytes held by all undo and redo stacks together.
+     */
+    public ReadOnlyLongProperty estimatedBytesProperty() {
+        return estimatedBytes.getReadOnlyProperty();
+    }
+
+    /**
+     * Bytes held by the current scope's undo stack; see getTotalBytes() for what the budget counts.
+     */
+    public long getUndoBytes() {
+        return current.undoBytes;
+    }
+
+    /**
+     * Bytes held by the current scope's redo stack.
+     */
+    public long getRedoBytes() {
+        return current.redoBytes;
+    }
+
+    /**
+     * Entries on the current scope's undo stack; see getTotalCount() for what the budget counts.
+     */
+    public int getUndoCount() {
+        return current.undo.size();
+    }
+
+    /**
+     * Entries on the current scope's redo stack.
+     */
+    public int getRedoCount() {
+        return current.redo.size();
+    }
+
+    /**
+     * Undo and redo entries of all scopes together, as bounded by maxEdits.
+     */
+    public int getTotalCount() {
+        return totalEdits;
+    }
+
+    /**
+     * Estimated bytes of all scopes together, as bounded by maxBytes.
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public int getScopeCount() {
+        return scopes.size();
+    }
+
+    // Least recently used scopes give up their oldest entries first (undo, then the far end of
+    // redo); the current scope always keeps its newest undo entry, even if it alone is over budget
+    private void evict() {
+        if (totalEdits <= maxEdits && totalBytes <= maxBytes) return;
+        Iterator<Stacks> it = scopes.values().iterator();
+        while (it.hasNext() && (totalEdits > maxEdits || totalBytes > maxBytes)) {
+            Stacks s = it.next();
+            if (s == current) continue;
+            while (!s.isEmpty() && (totalEdits > maxEdits || totalBytes > maxBytes)) {
+                Edit dropped;
+                if (!s.undo.isEmpty()) {
+                    dropped = s.undo.removeLast();
+                    s.undoBytes -= dropped.estimatedBytes();
+                } else {
+                    dropped = s.redo.removeLast();
+                    s.redoBytes -= dropped.estimatedBytes();
+                }
+                totalEdits--;
+                totalBytes -= dropped.estimatedBytes();
+            }
+            if (s.isEmpty()) it.remove();
+        }
+        while (current.undo.size() > 1 && (totalEdits > maxEdits || totalBytes > maxBytes)) {
+            long bytes = current.undo.removeLast().estimatedBytes();
+            current.undoBytes -= bytes;
+            totalEdits--;
+            totalBytes -= bytes;
+        }
+    }
+
     private void updateFlags() {
-        canUndo.set(!undoStack.isEmpty());
-        canRedo.set(!redoStack.isEmpty());
+        canUndo.set(!current.undo.isEmpty());
+        canRedo.set(!current.redo.isEmpty());
+        estimatedBytes.set(totalBytes);
     }
-}
\ No newline at end of file
+}
@@ -2,62 +2,100 @@ package com.app.subly.component;
 
 import com.app.subly.model.Subtitle;
 import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
 import javafx.beans.value.ChangeListener;
-import javafx.collections.ListChangeListener;
+import javafx.beans.value.WeakChangeListener;
+import javafx.css.PseudoClass;
 import javafx.scene.control.*;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseEvent;
+import javafx.scene.text.Text;
 
+/**
+ * Subtitle text cell. Renders with a plain Text node; the TextArea editor is created on the first
+ * startEdit and shared by every cell of the table (only one cell edits at a time). The focused
+ * cell is marked with the :focused-cell pseudo-class, styled in /styles/subtitle-table.css.
+ * Row heights come from the shared TextMeasureCache rather than from laying out the Text.
+ */
 public class MultilineTableCell extends TableCell<Subtitle, String> {
 
-    private static final String STYLE_COLUMN = "-fx-background-color: rgba(123,167,204,0.18);";
-    private static final String STYLE_CELL = "-fx-background-color: rgba(123,167,204,0.35);"
-            + "-fx-border-color: -fx-accent; -fx-border-width:1; -fx-border-radius:1; -fx-padding:1;";
-    private static final String TABLE_SELECTION_STYLE =
-            "-fx-selection-bar: #b4dcff; -fx-selection-bar-non-focused: #b4dcff;";
+    public static final String STYLE_CLASS = "multiline-cell";
+    public static final String TABLE_STYLE_CLASS = "subtitle-table";
+    public static final String STYLESHEET = "/styles/subtitle-table.css";
 
-    private final TextArea textArea = new TextArea();
-    private boolean committingViaTab = false;
-    private boolean focusListenerInstalled = false;
+    private static final PseudoClass FOCUSED_CELL = PseudoClass.getPseudoClass("focused-cell");
+    private static final String EDITOR_KEY = "subly.sharedCellEditor";
 
-    public MultilineTableCell() {
-        textArea.setWrapText(true);
-        textArea.setPrefRowCount(1);
-
-        textArea.addEventFilter(KeyEvent.KEY_PRESSED, e -> {
-            if (e.getCode() == KeyCode.TAB) {
-                committingViaTab = true;
-                doCommit(textArea.getText());
-                handleTabNavigation(e.isShiftDown());
-                committingViaTab = false;
-                e.consume();
-            } else if (e.getCode() == KeyCode.ENTER) {
-                if (e.isShiftDown()) {
-                    int pos = textArea.getCaretPosition();
-                    textArea.insertText(pos, "\\n");
-                } else {
-                    doCommit(textArea.getText());
+    /**
+     * One TextArea per table; its handlers act on whichever cell currently owns it.
+     */
+    private static final class SharedEditor {
+        final TextArea textArea = new TextArea();
+        MultilineTableCell owner;
+        boolean committingViaTab;
+
+        SharedEditor() {
+            textArea.setWrapText(true);
+            textArea.setPrefRowCount(1);
+
+            textArea.addEventFilter(KeyEvent.KEY_PRESSED, e -> {
+                MultilineTableCell cell = owner;
+                if (cell == null) return;
+                if (e.getCode() == KeyCode.TAB) {
+                    committingViaTab = true;
+                    cell.doCommit(textArea.getText());
+                    cell.handleTabNavigation(e.isShiftDown());
+                    committingViaTab = false;
+                    e.consume();
+                } else if (e.getCode() == KeyCode.ENTER) {
+                    if (e.isShiftDown()) {
+                        int pos = textArea.getCaretPosition();
+                        textArea.insertText(pos, "\\n");
+                    } else {
+                        cell.doCommit(textArea.getText());
+                    }
+                    e.consume();
+                } else if (e.getCode() == KeyCode.ESCAPE) {
+                    cell.cancelEdit();
+                    e.consume();
                 }
-                e.consume();
-            } else if (e.getCode() == KeyCode.ESCAPE) {
-                cancelEdit();
-                e.consume();
-            }
-        });
+            });
 
-        textArea.addEventFilter(KeyEvent.KEY_TYPED, e -> {
-            if ("\r".equals(e.getCharacter()) || "\n".equals(e.getCharacter())) {
-                e.consume();
-            }
-        });
+            textArea.addEventFilter(KeyEvent.KEY_TYPED, e -> {
+                if ("\r".equals(e.getCharacter()) || "\n".equals(e.getCharacter())) {
+                    e.consume();
+                }
+            });
 
-        textArea.focusedProperty().addListener((o, was, isNow) -> {
-            if (!isNow && isEditing()) {
-                Platform.runLater(() -> {
-                    if (isEditing()) doCommit(textArea.getText());
-                });
-            }
+            textArea.focusedProperty().addListener((o, was, isNow) -> {
+                MultilineTableCell cell = owner;
+                if (!isNow && cell != null && cell.isEditing()) {
+                    Platform.runLater(() -> {
+                        if (owner == cell && cell.isEditing()) cell.doCommit(textArea.getText());
+                    });
+                }
+            });
+        }
+    }
+
+    private final Text text = new Text();
+    // The table only holds it weakly, so cells the skin discards are not kept alive by the table
+    private final ChangeListener<Object> focusSync = (obs, oldPos, newPos) -> applySelectionStyling();
+    private final WeakChangeListener<Object> weakFocusSync = new WeakChangeListener<>(focusSync);
+
+    public MultilineTableCell() {
+        getStyleClass().add(STYLE_CLASS);
+        text.getStyleClass().add("cell-text");
+        // The cell's real horizontal insets (they change with :focused-cell padding), the same width
+        // computePrefHeight measures at
+        text.wrappingWidthProperty().bind(Bindings.createDoubleBinding(
+                () -> Math.max(0, getWidth() - horizontalInsets()), widthProperty(), insetsProperty()));
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+
+        tableViewProperty().addListener((o, oldTable, newTable) -> {
+            if (oldTable != null) oldTable.getFocusModel().focusedCellProperty().removeListener(weakFocusSync);
+            if (newTable != null) newTable.getFocusModel().focusedCellProperty().addListener(weakFocusSync);
         });
 
         addEventFilter(KeyEvent.KEY_PRESSED, e -> {
@@ -85,9 +123,13 @@ public class MultilineTableCell extends TableCell<Subtitle, String> {
     public void startEdit() {
         if (!isEditable() || getTableView() == null || !getTableView().isEditable()) return;
         super.startEdit();
-        setText(null);
-        setGraphic(textArea);
+        if (!isEditing()) return;
+        SharedEditor editor = editor();
+        editor.owner = this;
+        TextArea textArea = editor.textArea;
         textArea.setText(getItem() == null ? "" : getItem());
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+        setGraphic(textArea);
         textArea.requestFocus();
         textArea.positionCaret(textArea.getText().length());
     }
@@ -95,8 +137,8 @@ public class MultilineTableCell extends TableCell<Subtitle, String> {
     @Override
     public void cancelEdit() {
         super.cancelEdit();
-        setGraphic(null);
-        setText(getItem());
+        releaseEditor();
+        showText(getItem());
         refocusTable();
         applySelectionStyling();
     }
@@ -109,9 +151,10 @@ public class MultilineTableCell extends TableCell<Subtitle, String> {
     private void doCommit(String raw) {
         String v = raw == null ? "" : raw;
         super.commitEdit(v.replace("\n", "\\n"));
-        setGraphic(null);
-        setText(getItem());
-        if (!committingViaTab) {
+        releaseEditor();
+        showText(getItem());
+        SharedEditor editor = editor();
+        if (editor == null || !editor.committingViaTab) {
             refocusTable();
         }
         applySelectionStyling();
@@ -120,69 +163,70 @@ public class MultilineTableCell extends TableCell<Subtitle, String> {
     @Override
     protected void updateItem(String item, boolean empty) {
         super.updateItem(item, empty);
-        ensureTableSelectionColors();
-        if (!focusListenerInstalled) {
-            installFocusSync();
-            focusListenerInstalled = true;
-        }
 
+        SharedEditor editor = isEditing() ? editor() : null;
         if (empty) {
             setText(null);
             setGraphic(null);
-            setStyle("");
-        } else if (isEditing()) {
+        } else if (editor != null && editor.owner == this) {
+            TextArea textArea = editor.textArea;
             textArea.setText(item == null ? "" : item);
             setGraphic(textArea);
-            setText(null);
         } else {
-            setText(item);
-            setGraphic(null);
+            showText(item);
         }
 
         applySelectionStyling();
     }
 
-    private void installFocusSync() {
+    @Override
+    public void updateIndex(int i) {
+        super.updateIndex(i);
+        applySelectionStyling();
+    }
+
+    @Override
+    protected double computePrefHeight(double width) {
+        if (isEmpty() || getGraphic() != text) return super.computePrefHeight(width);
+        double w = width > 0 ? width : getWidth();
+        double textHeight = TextMeasureCache.shared().height(text.getText(), text.getFont(),
+                Math.max(0, w - horizontalInsets()));
+        return snapSizeY(textHeight + snappedTopInset() + snappedBottomInset());
+    }
+
+    private double horizontalInsets() {
+        return snappedLeftInset() + snappedRightInset();
+    }
+
+    private void showText(String item) {
+        text.setText(item == null ? "" : item);
+        setText(null);
+        setGraphic(isEmpty() ? null : text);
+    }
+
+    // null while the cell is not attached to a table
+    private SharedEditor editor() {
         TableView<Subtitle> tv = getTableView();
-        if (tv == null) return;
-        ChangeListener<TablePosition> focusListener = (obs, oldPos, newPos) -> applySelectionStyling();
-        tv.getFocusModel().focusedCellProperty().addListener(focusListener);
-        // Fixed listener (use raw TablePosition due to JavaFX API)
-        tv.getSelectionModel().getSelectedCells().addListener(
-                (ListChangeListener<TablePosition>) c -> applySelectionStyling()
-        );
+        if (tv == null) return null;
+        return (SharedEditor) tv.getProperties().computeIfAbsent(EDITOR_KEY, k -> new SharedEditor());
     }
 
-    private void ensureTableSelectionColors() {
+    private void releaseEditor() {
         TableView<Subtitle> tv = getTableView();
         if (tv == null) return;
-        if (tv.getProperties().get("customSelectionColorsInstalled") == null) {
-            String existing = tv.getStyle();
-            tv.setStyle((existing == null ? "" : existing + ";") + TABLE_SELECTION_STYLE);
-            tv.getProperties().put("customSelectionColorsInstalled", Boolean.TRUE);
-        }
+        Object shared = tv.getProperties().get(EDITOR_KEY);
+        if (shared instanceof SharedEditor editor && editor.owner == this) editor.owner = null;
     }
 
     private void applySelectionStyling() {
         TableView<Subtitle> tv = getTableView();
-        if (tv == null) {
-            setStyle("");
-            return;
-        }
-        TablePosition<Subtitle, ?> focusPos = tv.getFocusModel().getFocusedCell();
-        if (focusPos == null || focusPos.getTableColumn() == null) {
-            setStyle("");
-            return;
-        }
-
-        boolean sameColumn = getTableColumn() == focusPos.getTableColumn();
-        boolean sameCell = sameColumn && focusPos.getRow() == getIndex();
-
-        if (sameCell) {
-            setStyle(STYLE_CELL);
-        } else {
-            setStyle("");
+        boolean focused = false;
+        if (tv != null && !isEmpty()) {
+            TablePosition<Subtitle, ?> focusPos = tv.getFocusModel().getFocusedCell();
+            focused = focusPos != null && focusPos.getTableColumn() == getTableColumn()
+                    && focusPos.getRow() == getIndex();
         }
+        pseudoClassStateChanged(FOCUSED_CELL, focused);
     }
 
     private void handleTabNavigation(boolean backwards) {
@@ -196,16 +240,12 @@ public class MultilineTableCell extends TableCell<Subtitle, String> {
             int targetRow = currentRow + 1;
 
             if (targetRow >= tv.getItems().size()) {
-                if (rowBlank(tv, currentRow, textArea.getText())) {
+                if (rowBlank(tv, currentRow, editor().textArea.getText())) {
                     refocusTable();
                     return;
                 }
                 Subtitle s = new Subtitle(tv.getItems().size() + 1, "", "");
                 tv.getItems().add(s);
-                try {
-                    RowIndexer.renumber(tv.getItems());
-                } catch (Throwable ignored) {
-                }
             }
 
             if (tv.getVisibleLeafColumns().size() >= 2) {
@@ -258,4 +298,4 @@ public class MultilineTableCell extends TableCell<Subtitle, String> {
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package com.app.subly.component;
 
 import com.app.subly.model.Chapter;
 import com.app.subly.model.SublySettings;
+import com.app.subly.persistence.ProjectMedia;
 import com.app.subly.utils.DialogHelper;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -19,6 +20,7 @@ import javafx.stage.StageStyle;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.List;
 
@@ -129,12 +131,11 @@ public class Projector {
             return true;
         }
 
-        java.io.File f = new java.io.File(uriOrPath);
-        if (f.exists()) {
-            String uri = f.toURI().toString();
+        if (ProjectMedia.exists(uriOrPath)) {
+            String uri = uriOrPath;
             Image image;
-            try {
-                image = new Image(uri, false);
+            try (InputStream in = ProjectMedia.open(uriOrPath)) {
+                image = new Image(in);
             } catch (Exception ex) {
                 System.out.println("Failed to load image: " + ex.getMessage());
                 DialogHelper.showImageLoadFailure(stage, uri);
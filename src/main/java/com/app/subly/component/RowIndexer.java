@@ -3,30 +3,40 @@ package com.app.subly.component;
 import com.app.subly.model.Subtitle;
 import javafx.collections.ObservableList;
 
+import java.util.List;
+
+/**
+ * Row lookups by identity for the subtitle table. Row numbers are not stored here: the index
+ * column shows list positions (see RowNumberCell).
+ */
 public final class RowIndexer {
 
     private RowIndexer() {
     }
 
-    public static void renumber(ObservableList<Subtitle> items) {
-        if (items == null) return;
-        int next = 1;
-        int last = items.size() - 1;
-        for (int i = 0; i < items.size(); i++) {
-            Subtitle s = items.get(i);
-            if (s == null) continue;
-            boolean trailingBlank = isBlank(s) && i == last;
-            if (trailingBlank) {
-                s.setId(next); // trailing blank shows next available index
-            } else {
-                s.setId(next++);
-            }
+    /**
+     * Position of row (by identity, not equals) in items, searching outward from hint;
+     * -1 if the row is not in the list. O(1) when the hint is still right.
+     */
+    public static int indexOf(List<Subtitle> items, Subtitle row, int hint) {
+        if (items == null || row == null) return -1;
+        int n = items.size();
+        if (n == 0) return -1;
+        int h = Math.max(0, Math.min(hint, n - 1));
+        for (int d = 0; h - d >= 0 || h + d < n; d++) {
+            if (h - d >= 0 && items.get(h - d) == row) return h - d;
+            if (d > 0 && h + d < n && items.get(h + d) == row) return h + d;
         }
+        return -1;
     }
 
-    private static boolean isBlank(Subtitle s) {
-        String a = s.getPrimaryText();
-        String b = s.getSecondaryText();
-        return (a == null || a.isBlank()) && (b == null || b.isBlank());
+    /**
+     * Repaints only the cells of row by re-setting it in place (a single replace change),
+     * instead of refreshing the whole table. Returns the row's position, or -1.
+     */
+    public static int invalidate(ObservableList<Subtitle> items, Subtitle row, int hint) {
+        int i = indexOf(items, row, hint);
+        if (i >= 0) items.set(i, row);
+        return i;
     }
 }
@@ -0,0 +1,31 @@
+package com.app.subly.component;
+
+import com.app.subly.model.Subtitle;
+import javafx.scene.control.TableCell;
+
+/**
+ * Index column cell that shows the row's position (1-based) instead of Subtitle.id, so inserts
+ * and deletes need no renumbering pass: only cells whose index changes are repainted, by the table.
+ * Stored ids are rewritten from position when the project is normalized for saving.
+ */
+public class RowNumberCell extends TableCell<Subtitle, Integer> {
+
+    @Override
+    public void updateIndex(int i) {
+        super.updateIndex(i);
+        showNumber();
+    }
+
+    @Override
+    protected void updateItem(Integer item, boolean empty) {
+        super.updateItem(item, empty);
+        showNumber();
+    }
+
+    private void showNumber() {
+        int i = getIndex();
+        boolean empty = isEmpty() || getTableView() == null || i < 0 || i >= getTableView().getItems().size();
+        setText(empty ? null : Integer.toString(i + 1));
+        setGraphic(null);
+    }
+}
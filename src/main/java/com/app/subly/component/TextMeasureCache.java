@@ -0,0 +1,96 @@
+package com.app.subly.component;
+
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Heights of wrapped text keyed by (text, font, wrapping width), so table rows that scroll back
+ * into view or are re-measured at a width seen before skip text layout. Widths are rounded to
+ * whole pixels. LRU bounded; FX thread only, like the cells that use it.
+ */
+public final class TextMeasureCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 16_384;
+
+    // Holder, so a cache built with its own Measurer never creates a Text node
+    private static final class Shared {
+        static final TextMeasureCache INSTANCE = new TextMeasureCache(DEFAULT_MAX_ENTRIES);
+    }
+
+    private record Key(String text, Font font, int width) {
+    }
+
+    // Lays out text and returns its height; width 0 means no wrapping
+    interface Measurer {
+        double height(String text, Font font, int width);
+    }
+
+    private final Map<Key, Double> heights;
+    private final Measurer measurer;
+    private long hits;
+    private long misses;
+
+    public TextMeasureCache(int maxEntries) {
+        this(maxEntries, textMeasurer());
+    }
+
+    TextMeasureCache(int maxEntries, Measurer measurer) {
+        if (maxEntries <= 0) throw new IllegalArgumentException("maxEntries must be positive");
+        this.measurer = measurer;
+        this.heights = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Double> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public static TextMeasureCache shared() {
+        return Shared.INSTANCE;
+    }
+
+    /**
+     * Layout height of text in font when wrapped at width (no wrapping if width <= 0).
+     */
+    public double height(String text, Font font, double width) {
+        Key key = new Key(text == null ? "" : text, font, width > 0 ? (int) Math.round(width) : 0);
+        Double cached = heights.get(key);
+        if (cached != null) {
+            hits++;
+            return cached;
+        }
+        misses++;
+        double h = measurer.height(key.text(), key.font(), key.width());
+        heights.put(key, h);
+        return h;
+    }
+
+    private static Measurer textMeasurer() {
+        Text text = new Text();
+        return (s, font, width) -> {
+            text.setFont(font);
+            text.setWrappingWidth(width);
+            text.setText(s);
+            return text.getLayoutBounds().getHeight();
+        };
+    }
+
+    public void clear() {
+        heights.clear();
+    }
+
+    public int size() {
+        return heights.size();
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+}
@@ -4,6 +4,15 @@ import com.app.subly.model.Subtitle;
 import javafx.collections.ObservableList;
 import javafx.scene.control.TableView;
 
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps exactly one blank row at the end of the subtitle table and no blank rows elsewhere.
+ * Edits use {@link #settle} / {@link #trimTail}, which only look at the changed rows and the
+ * tail, so a commit costs the same in a 10-row and a 10k-row chapter; removals are done as
+ * ranges, one list change each.
+ */
 public class TrailingBlankRowPolicy {
 
     public boolean isBlankRow(Subtitle s) {
@@ -13,20 +22,67 @@ public class TrailingBlankRowPolicy {
         return (p == null || p.isBlank()) && (t == null || t.isBlank());
     }
 
+    /**
+     * Full pass over the table; interior blank rows are dropped with a single setAll.
+     */
     public void ensureTrailingBlankRow(TableView<Subtitle> table) {
         if (table == null || table.getItems() == null) return;
         ObservableList<Subtitle> items = table.getItems();
 
-        // Remove blank rows except the last
-        for (int i = 0; i < items.size() - 1; i++) {
+        int last = items.size() - 1;
+        int firstBlank = -1;
+        for (int i = 0; i < last; i++) {
             if (isBlankRow(items.get(i))) {
-                items.remove(i);
+                firstBlank = i;
+                break;
+            }
+        }
+        if (firstBlank >= 0) {
+            List<Subtitle> kept = new ArrayList<>(items.subList(0, firstBlank));
+            for (int i = firstBlank + 1; i < last; i++) {
+                if (!isBlankRow(items.get(i))) kept.add(items.get(i));
+            }
+            kept.add(items.get(last));
+            items.setAll(kept);
+        }
+        trimTail(items);
+    }
+
+    /**
+     * Rows [from, to) were edited: blank ones among them (other than the last row) are removed,
+     * then the tail is trimmed. Cost is O(to - from) plus the length of the trailing blank run.
+     */
+    public void settle(ObservableList<Subtitle> items, int from, int to) {
+        if (items == null) return;
+        int end = Math.min(to, items.size() - 1);
+        // Runs back to front, so earlier positions stay valid
+        int i = end - 1;
+        while (i >= Math.max(0, from)) {
+            if (!isBlankRow(items.get(i))) {
                 i--;
+                continue;
             }
+            int runEnd = i + 1;
+            while (i - 1 >= Math.max(0, from) && isBlankRow(items.get(i - 1))) i--;
+            items.remove(i, runEnd);
+            i--;
         }
-        // Ensure exactly one trailing blank row
-        if (items.isEmpty() || !isBlankRow(items.get(items.size() - 1))) {
-            items.add(new Subtitle(items.size() + 1, "", ""));
+        trimTail(items);
+    }
+
+    /**
+     * Ensures the list ends in exactly one blank row. When several blank rows end the list the
+     * first of them is kept, so a row blanked by undo keeps its identity for redo.
+     */
+    public void trimTail(ObservableList<Subtitle> items) {
+        if (items == null) return;
+        int n = items.size();
+        if (n == 0 || !isBlankRow(items.get(n - 1))) {
+            items.add(new Subtitle(n + 1, "", ""));
+            return;
         }
+        int first = n - 1;
+        while (first > 0 && isBlankRow(items.get(first - 1))) first--;
+        if (first < n - 1) items.remove(first + 1, n);
     }
-}
\ No newline at end of file
+}
@@ -9,6 +9,7 @@ import com.app.subly.model.Chapter;
 import com.app.subly.model.SublySettings;
 import com.app.subly.model.Subtitle;
 import com.app.subly.model.enums.BackgroundType;
+import com.app.subly.project.EditJournal;
 import com.app.subly.project.SublyProjectSession;
 import com.app.subly.utils.ColorConvertUtils;
 import javafx.application.Platform;
@@ -36,6 +37,9 @@ public class ControlPanelController {
     // Keep a shared projector ref across parts
     private final ProjectorRef projectorRef = new ProjectorRef();
 
+    // Autosave journal of edits since the last save
+    private final EditJournal journal = new EditJournal(EditJournal.defaultDirectory());
+
     // Managers
     private SubtitleTableManager subtitleManager;
     private ChapterManager chapterManager;
@@ -45,6 +49,7 @@ public class ControlPanelController {
     private PresentingModeManager presentingModeManager;
     private ShowScreenToggleManager showScreenToggleManager;
     private EditingControlLockManager editingControlLockManager;
+    private SearchManager searchManager;
 
     // Style toolbar
     private StyleToolbarBinder styleBinder;
@@ -117,11 +122,19 @@ public class ControlPanelController {
     @FXML
     private MenuItem saveAsMenuItem;
     @FXML
+    private MenuItem importMenuItem;
+    @FXML
     private MenuItem exitMenuItem;
     @FXML
     private MenuItem undoMenuItem;
     @FXML
     private MenuItem redoMenuItem;
+    @FXML
+    private MenuItem findMenuItem;
+    @FXML
+    private MenuItem findNextMenuItem;
+    @FXML
+    private MenuItem replaceMenuItem;
 
     // Chapters
     @FXML
@@ -186,15 +199,17 @@ public class ControlPanelController {
         );
 
         projectFileManager = new ProjectFileManager(
-                newMenuItem, openMenuItem, saveMenuItem, saveAsMenuItem, exitMenuItem,
+                newMenuItem, openMenuItem, saveMenuItem, saveAsMenuItem, importMenuItem, exitMenuItem,
                 undoMenuItem, redoMenuItem,
                 menuBar,
                 () -> session,
                 () -> app,
                 subtitleManager,
+                chapterManager,
                 this::setDirty,
                 () -> dirty.get(),
-                this
+                this,
+                journal
         );
 
         previewManager = new SubtitlePreviewManager(
@@ -236,6 +251,14 @@ public class ControlPanelController {
                 this::updatePreviewAppearance
         );
 
+        searchManager = new SearchManager(
+                findMenuItem, findNextMenuItem, replaceMenuItem,
+                chapterListView, subtitleManager,
+                () -> session,
+                this::markDirty,
+                journal::markAllChanged
+        );
+
         // Initialize modules
         subtitleManager.initialize();
         chapterManager.initialize();
@@ -244,6 +267,7 @@ public class ControlPanelController {
         previewManager.initialize();
         presentingModeManager.initialize();
         showScreenToggleManager.initialize();
+        searchManager.initialize();
 
         if (imagePathField != null) {
             imagePathField.setVisible(false);
@@ -267,6 +291,8 @@ public class ControlPanelController {
 
     public void setSession(SublyProjectSession session) {
         this.session = session;
+        // The selected chapter's rows live in the table until the next chapter switch
+        journal.attach(session, c -> c == session.getSelectedChapter() ? subtitleTable.getItems() : c.getSubtitles());
 
         chapterManager.onSessionSet();
         subtitleManager.onSessionSet();
@@ -325,6 +351,15 @@ public class ControlPanelController {
 
     private void markDirty() {
         setDirty(true);
+        journal.markChanged();
+    }
+
+    public void offerJournalRecovery() {
+        projectFileManager.offerJournalRecovery();
+    }
+
+    public void requestExit() {
+        projectFileManager.requestExit();
     }
 
     private int currentFontSize() {
@@ -215,8 +215,9 @@ public class ChapterManager {
         // Sync any subtitle edits to the model before deletion
         subtitleManager.syncCurrentChapterToModel();
 
-        // Remove the selected chapter
+        // Remove the selected chapter and its undo history
         session.getChapters().remove(idx);
+        if (subtitleManager.getHistory() != null) subtitleManager.getHistory().forget(ch.getId());
 
         // Count remaining real chapters
         long realCount = session.getChapters().stream().filter(c -> !isPlaceholder(c)).count();
@@ -254,6 +255,52 @@ public class ChapterManager {
         markDirty.run();
     }
 
+    /**
+     * Removes chapters added by an operation that was rolled back (e.g. a failed import), with
+     * their undo history. The selection stays on the chapter that was selected; if that one was
+     * removed it moves to the first chapter. Either way the table is rebound to the rows of the
+     * chapter now selected, never left on a removed chapter's list.
+     */
+    public void removeChapters(java.util.Collection<Chapter> removed) {
+        SublyProjectSession session = sessionSupplier.get();
+        if (session == null || removed.isEmpty()) return;
+
+        // Sync while the session index still points at the chapter the table shows, then clear it
+        // so the selection changes fired by the removal sync nothing into a shifted chapter
+        Chapter selected = session.getSelectedChapter();
+        if (selected != null && !isPlaceholder(selected)) subtitleManager.syncCurrentChapterToModel();
+        session.setSelectedChapterIndex(-1);
+
+        session.getChapters().removeAll(removed);
+        if (subtitleManager.getHistory() != null) {
+            for (Chapter c : removed) subtitleManager.getHistory().forget(c.getId());
+        }
+
+        long realCount = session.getChapters().stream().filter(c -> !isPlaceholder(c)).count();
+        if (realCount == 0) {
+            Chapter fresh = new Chapter();
+            fresh.setTitle("Chapter 1");
+            fresh.getSubtitles().add(new Subtitle(1, "", ""));
+            session.getChapters().add(0, fresh);
+        }
+        session.ensurePlaceholderChapter();
+
+        int idx = Math.max(0, session.getChapters().indexOf(selected));
+        chapterListView.getSelectionModel().select(idx);
+        session.setSelectedChapterIndex(idx);
+        Chapter newCh = session.getSelectedChapter();
+        if (newCh != null && !isPlaceholder(newCh)) {
+            if (newCh.getSubtitles().isEmpty()) newCh.getSubtitles().add(new Subtitle(1, "", ""));
+            subtitleManager.reloadSubtitles(newCh.getSubtitles());
+        } else {
+            subtitleManager.reloadSubtitles(java.util.List.of(new Subtitle(1, "", "")));
+        }
+
+        chapterListView.refresh();
+        updateContextMenuState();
+        updateCountLabel();
+    }
+
     private void moveChapterUp() {
         if (chapterStructureLocked) return;
         SublyProjectSession session = sessionSupplier.get();
@@ -14,21 +14,23 @@ import javafx.scene.input.KeyEvent;
 import java.util.*;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
 import java.util.function.Supplier;
 
 /**
- * Handles TSV paste into a TableView<Subtitle> and records a single compound edit into EditHistory.
+ * Handles TSV paste into a TableView<Subtitle>. New rows are built off-list and added with one
+ * addAll, and the whole block is recorded as a single columnar edit in EditHistory.
  */
 public class PasteManager {
 
     private final TableView<Subtitle> table;
     private final TableColumn<Subtitle, String> primaryCol;
     private final TableColumn<Subtitle, String> secondaryCol;
-    private final TableColumn<Subtitle, ?> indexCol;
     private final Supplier<Subtitle> newRowSupplier;
-    private final Runnable ensureTrailingBlankRow;
+    private final Runnable afterPaste;
     private final Runnable markDirty;
     private final EditHistory history;
+    private final ObjIntConsumer<Subtitle> rowWritten;
 
     private final Map<TableColumn<Subtitle, ?>, BiConsumer<Subtitle, String>> writers = new LinkedHashMap<>();
     private final Map<TableColumn<Subtitle, ?>, Function<Subtitle, String>> readers = new LinkedHashMap<>();
@@ -36,35 +38,28 @@ public class PasteManager {
     public PasteManager(TableView<Subtitle> table,
                         TableColumn<Subtitle, String> primaryCol,
                         TableColumn<Subtitle, String> secondaryCol,
-                        TableColumn<Subtitle, ?> indexCol,
                         Supplier<Subtitle> newRowSupplier,
-                        Runnable ensureTrailingBlankRow,
+                        Runnable afterPaste,
                         Runnable markDirty,
-                        EditHistory history) {
+                        EditHistory history,
+                        ObjIntConsumer<Subtitle> rowWritten) {
         this.table = table;
         this.primaryCol = primaryCol;
         this.secondaryCol = secondaryCol;
-        this.indexCol = indexCol;
         this.newRowSupplier = newRowSupplier;
-        this.ensureTrailingBlankRow = ensureTrailingBlankRow != null ? ensureTrailingBlankRow : () -> {
+        this.afterPaste = afterPaste != null ? afterPaste : () -> {
         };
         this.markDirty = markDirty != null ? markDirty : () -> {
         };
         this.history = history;
+        this.rowWritten = rowWritten != null ? rowWritten : (row, hint) -> {
+        };
 
+        // The # column shows row positions and is read-only: pasted values for it are skipped
         writers.put(primaryCol, Subtitle::setPrimaryText);
         writers.put(secondaryCol, Subtitle::setSecondaryText);
-        if (indexCol != null) {
-            writers.put(indexCol, (row, v) -> {
-                try {
-                    row.setId(Integer.parseInt(v.trim()));
-                } catch (Exception ignored) {
-                }
-            });
-        }
         readers.put(primaryCol, Subtitle::getPrimaryText);
         readers.put(secondaryCol, Subtitle::getSecondaryText);
-        if (indexCol != null) readers.put(indexCol, s -> String.valueOf(s.getId()));
     }
 
     public void install() {
@@ -129,87 +124,163 @@ public class PasteManager {
         collectLeafColumns(table.getColumns(), leafs);
         if (leafs.isEmpty()) return;
 
-        ObservableList<Subtitle> items = table.getItems();
-        int initialSize = items.size();
-
-        EditHistory.CompoundEdit compound = new EditHistory.CompoundEdit();
-
         int clipboardCols = rows.stream().mapToInt(arr -> arr.length).max().orElse(1);
         boolean singleColMode = (clipboardCols == 1);
+        int colsToPaste = singleColMode ? 1 : Math.min(clipboardCols, leafs.size() - startCol);
 
-        for (int r = 0; r < rows.size(); r++) {
-            int targetRow = startRow + r;
-            while (targetRow >= items.size()) {
-                items.add(newRowSupplier.get());
-            }
-            Subtitle rowItem = items.get(targetRow);
-            String[] values = rows.get(r);
-            int colsToPaste = singleColMode ? 1 : Math.min(clipboardCols, leafs.size() - startCol);
-
-            for (int c = 0; c < colsToPaste; c++) {
-                int targetColIndex = singleColMode ? startCol : (startCol + c);
-                if (targetColIndex < 0 || targetColIndex >= leafs.size()) break;
-
-                @SuppressWarnings("unchecked")
-                TableColumn<Subtitle, ?> col = (TableColumn<Subtitle, ?>) leafs.get(targetColIndex);
-                BiConsumer<Subtitle, String> writer = writers.get(col);
-                Function<Subtitle, String> reader = readers.get(col);
-                if (writer == null || reader == null) continue;
-
-                String newValue = singleColMode ? values[0] : (c < values.length ? values[c] : "");
-                String oldValue = reader.apply(rowItem);
-                if (Objects.equals(oldValue, newValue)) continue;
-
-                final int rowIndex = targetRow;
-                writer.accept(rowItem, newValue); // apply now
-                compound.add(EditHistory.of(
-                        () -> {
-                            if (rowIndex < table.getItems().size())
-                                writer.accept(table.getItems().get(rowIndex), oldValue);
-                        },
-                        () -> {
-                            if (rowIndex < table.getItems().size())
-                                writer.accept(table.getItems().get(rowIndex), newValue);
-                        }
-                ));
-            }
+        // Resolve the target columns once; unknown columns keep a null slot and are skipped
+        List<BiConsumer<Subtitle, String>> colWriters = new ArrayList<>(colsToPaste);
+        List<Function<Subtitle, String>> colReaders = new ArrayList<>(colsToPaste);
+        for (int c = 0; c < colsToPaste; c++) {
+            TableColumn<?, ?> col = leafs.get(singleColMode ? startCol : startCol + c);
+            colWriters.add(writers.get(col));
+            colReaders.add(readers.get(col));
+        }
+        // Only read-only columns (e.g. #) under the paste: no values to write, so no rows to append either
+        boolean writable = false;
+        for (int c = 0; c < colsToPaste; c++) {
+            writable |= colWriters.get(c) != null && colReaders.get(c) != null;
         }
+        if (!writable) return;
 
-        int rowsAdded = Math.max(0, items.size() - initialSize);
-        if (rowsAdded > 0) {
-            compound.getClass(); // keep reference
-            compound = prependRowsAdded(compound, items, rowsAdded);
+        ObservableList<Subtitle> items = table.getItems();
+        int overwriteCount = Math.max(0, Math.min(rows.size(), items.size() - startRow));
+        int appendAt = Math.min(startRow, items.size());
+
+        PasteEdit edit = new PasteEdit(table::getItems, colWriters, rowWritten,
+                appendAt, overwriteCount, rows.size() - overwriteCount);
+        for (int c = 0; c < colsToPaste; c++) {
+            if (colWriters.get(c) == null || colReaders.get(c) == null) continue;
+            String[] oldValues = new String[overwriteCount];
+            String[] newValues = new String[rows.size()];
+            for (int r = 0; r < rows.size(); r++) {
+                String[] values = rows.get(r);
+                newValues[r] = singleColMode ? values[0] : (c < values.length ? values[c] : "");
+                if (r < overwriteCount) oldValues[r] = colReaders.get(c).apply(items.get(startRow + r));
+            }
+            edit.setColumn(c, oldValues, newValues);
         }
+        for (int r = 0; r < overwriteCount; r++) edit.overwritten[r] = items.get(startRow + r);
+        for (int r = overwriteCount; r < rows.size(); r++) edit.appended.add(newRowSupplier.get());
+        if (edit.isNoOp()) return;
+
+        edit.redo();
 
-        ensureTrailingBlankRow.run();
-        RowIndexer.renumber(items);
-        table.refresh();
-        markDirty.run();
+        afterPaste.run();
 
-        if (!compound.isEmpty() && history != null) {
-            history.push(compound);
+        if (history != null) {
+            history.push(edit);
+        } else {
+            markDirty.run();
         }
     }
 
-    private EditHistory.CompoundEdit prependRowsAdded(EditHistory.CompoundEdit compound, ObservableList<Subtitle> items, int count) {
-        EditHistory.Edit rowAddEdit = EditHistory.of(
-                () -> { // undo: remove last 'count' rows if present
-                    for (int i = 0; i < count; i++) {
-                        if (!items.isEmpty()) items.remove(items.size() - 1);
+    /**
+     * Undo record for one paste, stored column by column: the overwritten rows, their old values
+     * and the pasted values per column, plus the block of appended rows. Undo restores the values
+     * and removes the block with a single list change; redo re-adds the same row objects.
+     * Rows are found by identity (position is only a hint), and the overwritten rows are handed to
+     * rowWritten so the caller repaints them in one go.
+     */
+    private static final class PasteEdit implements EditHistory.Edit {
+        // The table's current list: a chapter's rows are re-wrapped each time it is shown
+        private final Supplier<ObservableList<Subtitle>> items;
+        private final List<BiConsumer<Subtitle, String>> writers;
+        private final ObjIntConsumer<Subtitle> rowWritten;
+        private final String[][] oldValues;
+        private final String[][] newValues;
+        private final Subtitle[] overwritten;
+        private final List<Subtitle> appended;
+        private final int overwriteAt;
+        private final int appendAt;
+        // Row in front of the appended block at paste time, null if the block starts the list
+        private final Subtitle anchor;
+
+        PasteEdit(Supplier<ObservableList<Subtitle>> items, List<BiConsumer<Subtitle, String>> writers,
+                  ObjIntConsumer<Subtitle> rowWritten, int appendAt, int overwriteCount, int appendCount) {
+            this.items = items;
+            this.writers = writers;
+            this.rowWritten = rowWritten;
+            this.oldValues = new String[writers.size()][];
+            this.newValues = new String[writers.size()][];
+            this.overwritten = new Subtitle[overwriteCount];
+            this.appended = new ArrayList<>(appendCount);
+            this.overwriteAt = appendAt;
+            this.appendAt = appendAt + overwriteCount;
+            List<Subtitle> rows = items.get();
+            this.anchor = this.appendAt > 0 && this.appendAt <= rows.size() ? rows.get(this.appendAt - 1) : null;
+        }
+
+        void setColumn(int c, String[] oldColumn, String[] newColumn) {
+            oldValues[c] = oldColumn;
+            newValues[c] = newColumn;
+        }
+
+        @Override
+        public boolean isNoOp() {
+            if (!appended.isEmpty()) return false;
+            for (int c = 0; c < writers.size(); c++) {
+                if (oldValues[c] == null) continue;
+                for (int r = 0; r < overwritten.length; r++) {
+                    if (!Objects.equals(oldValues[c][r], newValues[c][r])) return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public long estimatedBytes() {
+            long bytes = 64 + 8L * (overwritten.length + appended.size()) + 32L * appended.size();
+            for (int c = 0; c < writers.size(); c++) {
+                if (oldValues[c] != null) for (String v : oldValues[c]) bytes += EditHistory.estimateBytes(v) + 8;
+                if (newValues[c] != null) for (String v : newValues[c]) bytes += EditHistory.estimateBytes(v) + 8;
+            }
+            return bytes;
+        }
+
+        @Override
+        public void undo() {
+            ObservableList<Subtitle> items = this.items.get();
+            if (!appended.isEmpty()) {
+                int from = RowIndexer.indexOf(items, appended.getFirst(), appendAt);
+                int to = from + appended.size();
+                if (from >= 0 && to <= items.size() && items.get(to - 1) == appended.getLast()) {
+                    items.remove(from, to);
+                } else {
+                    for (int r = appended.size() - 1; r >= 0; r--) {
+                        int at = RowIndexer.indexOf(items, appended.get(r), appendAt + r);
+                        if (at >= 0) items.remove(at);
                     }
-                },
-                () -> { // redo: append 'count' rows
-                    for (int i = 0; i < count; i++) items.add(newRowSupplier.get());
                 }
-        );
-        EditHistory.CompoundEdit withRows = new EditHistory.CompoundEdit();
-        withRows.add(rowAddEdit);
-        // append all existing children from 'compound'
-        // reflection-free: rebuild by redoing 'compound' once into withRows is complex; keep simple by returning a new Compound that starts with rowAdd then all others
-        // We cannot access children directly; instead, we wrap: undo/redo order still correct by nesting:
-        EditHistory.Edit rest = compound;
-        withRows.add(rest);
-        return withRows;
+            }
+            write(oldValues, false);
+        }
+
+        @Override
+        public void redo() {
+            ObservableList<Subtitle> items = this.items.get();
+            write(newValues, true);
+            if (!appended.isEmpty()) {
+                int at = anchor == null ? 0 : RowIndexer.indexOf(items, anchor, appendAt - 1) + 1;
+                if (anchor != null && at == 0) at = Math.min(appendAt, items.size());
+                items.addAll(at, appended);
+            }
+        }
+
+        // Appended rows are detached while values are written, so the addAll carries finished rows;
+        // overwritten rows are reported to rowWritten and repainted together after the edit
+        private void write(String[][] values, boolean includeAppended) {
+            for (int c = 0; c < writers.size(); c++) {
+                String[] column = values[c];
+                if (column == null) continue;
+                BiConsumer<Subtitle, String> writer = writers.get(c);
+                for (int r = 0; r < overwritten.length; r++) writer.accept(overwritten[r], column[r]);
+                if (includeAppended) {
+                    for (int r = 0; r < appended.size(); r++) writer.accept(appended.get(r), column[overwritten.length + r]);
+                }
+            }
+            for (int r = 0; r < overwritten.length; r++) rowWritten.accept(overwritten[r], overwriteAt + r);
+        }
     }
 
     private void collectLeafColumns(List<? extends TableColumn<?, ?>> src, List<TableColumn<?, ?>> out) {
@@ -1,6 +1,7 @@
 package com.app.subly.controller.manager;
 
 import com.app.subly.model.Chapter;
+import com.app.subly.model.Subtitle;
 
 import java.util.List;
 import java.util.Objects;
@@ -51,7 +52,7 @@ public class PresentingModeNavigator {
         if (!presentingMode || chapters.isEmpty()) return;
         var ch = chapters.get(chapterIndex);
         var subtitles = ch.getSubtitles();
-        int rowsCount = subtitles != null ? subtitles.size() : 0;
+        int rowsCount = rowCount(subtitles);
         int chaptersCount = this.chapters.size() - 1;
 
         if (rowIndex + 1 < rowsCount) {
@@ -90,7 +91,7 @@ public class PresentingModeNavigator {
             chapterIndex--;
             var prev = chapters.get(chapterIndex);
             var prevSubtitles = prev.getSubtitles();
-            rowIndex = (prevSubtitles != null && !prevSubtitles.isEmpty()) ? Math.max(0, prevSubtitles.size() - 1) : 0;
+            rowIndex = Math.max(0, rowCount(prevSubtitles) - 1);
             var subtitle = (prevSubtitles != null && rowIndex < prevSubtitles.size()) ? prevSubtitles.get(rowIndex) : null;
             System.out.println("Previous line in previous chapter: " + (subtitle != null ? subtitle.getPrimaryText() : "null"));
             notifyChange();
@@ -121,6 +122,17 @@ public class PresentingModeNavigator {
         notifyChange();
     }
 
+    // A chapter that has been shown in the table keeps the editor's trailing blank row; skip it
+    private static int rowCount(List<Subtitle> subtitles) {
+        if (subtitles == null || subtitles.isEmpty()) return 0;
+        int n = subtitles.size();
+        Subtitle last = subtitles.get(n - 1);
+        boolean blank = last == null
+                || ((last.getPrimaryText() == null || last.getPrimaryText().isBlank())
+                && (last.getSecondaryText() == null || last.getSecondaryText().isBlank()));
+        return blank && n > 1 ? n - 1 : n;
+    }
+
     private void notifyChange() {
         listener.onPositionChanged(chapterIndex, rowIndex);
     }
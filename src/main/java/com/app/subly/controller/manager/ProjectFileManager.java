@@ -4,11 +4,18 @@ import com.app.subly.SublyApplication;
 import com.app.subly.component.EditHistory;
 import com.app.subly.component.SublySettingsDefaults;
 import com.app.subly.controller.ControlPanelController;
+import com.app.subly.model.Chapter;
+import com.app.subly.model.SublyProjectFile;
 import com.app.subly.model.Subtitle;
+import com.app.subly.persistence.ArchiveProgress;
 import com.app.subly.persistence.ProjectBuilders;
+import com.app.subly.persistence.SubtitleFileReader;
 import com.app.subly.persistence.SublyProjectIO;
+import com.app.subly.project.EditJournal;
 import com.app.subly.project.SublyProjectSession;
+import com.app.subly.utils.DialogHelper;
 import javafx.application.Platform;
+import javafx.concurrent.Task;
 import javafx.scene.control.*;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyCodeCombination;
@@ -17,7 +24,20 @@ import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
 import java.io.File;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
@@ -26,11 +46,14 @@ import java.util.function.Supplier;
 public class ProjectFileManager {
 
     private static final String PROJECT_EXT = ".subly";
+    private static final int IMPORT_BATCH_ROWS = 1000;
+    private static final Executor IO_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
 
     private final MenuItem newMenuItem;
     private final MenuItem openMenuItem;
     private final MenuItem saveMenuItem;
     private final MenuItem saveAsMenuItem;
+    private final MenuItem importMenuItem;
     private final MenuItem exitMenuItem;
     private final MenuItem undoMenuItem;
     private final MenuItem redoMenuItem;
@@ -39,15 +62,23 @@ public class ProjectFileManager {
     private final Supplier<SublyProjectSession> sessionSupplier;
     private final Supplier<SublyApplication> appSupplier;
     private final SubtitleTableManager subtitleManager;
+    private final ChapterManager chapterManager;
     private final java.util.function.Consumer<Boolean> dirtySetter;
     private final Supplier<Boolean> dirtyFlagSupplier;
 
     private final ControlPanelController controller;
+    private final EditJournal journal;
+
+    private Task<?> runningTask;
+    private Alert runningProgress;
+    // Exit asked for while a task was running; taken up again once the task ends
+    private boolean exitQueued;
 
     public ProjectFileManager(MenuItem newMenuItem,
                               MenuItem openMenuItem,
                               MenuItem saveMenuItem,
                               MenuItem saveAsMenuItem,
+                              MenuItem importMenuItem,
                               MenuItem exitMenuItem,
                               MenuItem undoMenuItem,
                               MenuItem redoMenuItem,
@@ -55,13 +86,16 @@ public class ProjectFileManager {
                               Supplier<SublyProjectSession> sessionSupplier,
                               Supplier<SublyApplication> appSupplier,
                               SubtitleTableManager subtitleManager,
+                              ChapterManager chapterManager,
                               java.util.function.Consumer<Boolean> dirtySetter,
                               Supplier<Boolean> dirtyFlagSupplier,
-                              ControlPanelController controller) {
+                              ControlPanelController controller,
+                              EditJournal journal) {
         this.newMenuItem = newMenuItem;
         this.openMenuItem = openMenuItem;
         this.saveMenuItem = saveMenuItem;
         this.saveAsMenuItem = saveAsMenuItem;
+        this.importMenuItem = importMenuItem;
         this.exitMenuItem = exitMenuItem;
         this.undoMenuItem = undoMenuItem;
         this.redoMenuItem = redoMenuItem;
@@ -69,9 +103,11 @@ public class ProjectFileManager {
         this.sessionSupplier = sessionSupplier;
         this.appSupplier = appSupplier;
         this.subtitleManager = subtitleManager;
+        this.chapterManager = chapterManager;
         this.dirtySetter = dirtySetter;
         this.dirtyFlagSupplier = dirtyFlagSupplier;
         this.controller = controller;
+        this.journal = journal;
     }
 
     public void initialize() {
@@ -105,11 +141,17 @@ public class ProjectFileManager {
         }
     }
 
+    private void clearHistory() {
+        EditHistory h = subtitleManager.getHistory();
+        if (h != null) h.clear();
+    }
+
     private void wireMenuActions() {
         newMenuItem.setOnAction(e -> newProject());
         openMenuItem.setOnAction(e -> openProject());
         saveMenuItem.setOnAction(e -> saveProject());
         saveAsMenuItem.setOnAction(e -> saveProjectAs());
+        if (importMenuItem != null) importMenuItem.setOnAction(e -> importSubtitles());
         exitMenuItem.setOnAction(e -> requestExit());
     }
 
@@ -124,92 +166,123 @@ public class ProjectFileManager {
     }
 
     private void newProject() {
-        if (!confirmWithUnsaved("You have unsaved changes.", "Do you want to save your changes before creating a new project?"))
-            return;
+        if (isBusy()) return;
+        confirmWithUnsaved("You have unsaved changes.", "Do you want to save your changes before creating a new project?",
+                this::resetToNewProject);
+    }
+
+    private void resetToNewProject() {
         var table = subtitleManager.getTable();
         table.setItems(javafx.collections.FXCollections.observableArrayList(new Subtitle(1, "", "")));
         table.getSelectionModel().selectFirst();
         table.scrollTo(0);
         SublyProjectSession session = sessionSupplier.get();
-        if (session != null) session.setProjectFile(null);
+        if (session != null) {
+            session.setProjectFile(null);
+            session.setSchemaVersion(SublyProjectFile.JSON_SCHEMA_VERSION);
+        }
         SublyApplication app = appSupplier.get();
         if (app != null) app.updateTitle("Untitled");
         dirtySetter.accept(false);
+        journal.reset(null, null);
+        clearHistory();
         refreshActions();
     }
 
     private void openProject() {
-        if (!confirmWithUnsaved("You have unsaved changes.", "Do you want to save your changes before opening a project?"))
-            return;
+        if (isBusy()) return;
+        confirmWithUnsaved("You have unsaved changes.", "Do you want to save your changes before opening a project?",
+                this::chooseAndOpenProject);
+    }
+
+    private void chooseAndOpenProject() {
         FileChooser chooser = new FileChooser();
         chooser.setTitle("Open Project");
         chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Subly Project (*.subly)", "*.subly"));
         File selected = chooser.showOpenDialog(new Stage());
         if (selected == null) return;
-        try {
-            var project = SublyProjectIO.load(selected.toPath(), com.app.subly.model.SublyProjectFile.class);
-            SublyProjectSession session = sessionSupplier.get();
-            if (session != null && project != null) {
-                session.setProjectFile(selected);
-                if (project.getSettings() != null) {
-                    SublySettingsDefaults.apply(project.getSettings());
-                    appSupplier.get().updateSetting(project.getSettings());
-                    session.setSettings(project.getSettings());
-                }
-                session.replaceAllChapters(project.getChapters());
-                if (!session.getChapters().isEmpty()) {
-                    session.ensureAllChapterIds();
-                    session.setSelectedChapterIndex(0);
-                    subtitleManager.reloadSubtitles(session.getChapters().getFirst().getSubtitles());
-                } else {
-                    subtitleManager.reloadSubtitles(java.util.List.of(new Subtitle(1, "", "")));
-                }
-                if (controller != null) {
-                    controller.applySettingsToFormattingTools(project.getSettings());
-                    System.out.println("ProjectFileManager: setSession called on controller with session " + session.hashCode());
-                    System.out.println("Photo URI in settings: " + project.getSettings().getProjectorImageUri());
-                    controller.setSession(session);
-                }
-                appSupplier.get().updateTitle(project.getFileName());
-                session.clearDirty();
-                dirtySetter.accept(false);
-                refreshActions();
+        runInBackground("Opening " + selected.getName(),
+                progress -> SublyProjectIO.open(selected.toPath(), SublyProjectFile.class, progress),
+                project -> {
+                    applyOpenedProject(selected, project);
+                    journal.reset(selected, project);
+                },
+                "Open Project Failed",
+                () -> {
+                });
+    }
+
+    private void applyOpenedProject(File selected, SublyProjectFile project) {
+        SublyProjectSession session = sessionSupplier.get();
+        if (session != null && project != null) {
+            session.setProjectFile(selected);
+            session.setSchemaVersion(project.getSchemaVersion() != null
+                    ? project.getSchemaVersion() : SublyProjectFile.JSON_SCHEMA_VERSION);
+            if (project.getSettings() != null) {
+                SublySettingsDefaults.apply(project.getSettings());
+                appSupplier.get().updateSetting(project.getSettings());
+                session.setSettings(project.getSettings());
+            }
+            clearHistory();
+            session.replaceAllChapters(project.getChapters());
+            if (!session.getChapters().isEmpty()) {
+                session.ensureAllChapterIds();
+                session.setSelectedChapterIndex(0);
+                subtitleManager.reloadSubtitles(session.getChapters().getFirst().getSubtitles());
+            } else {
+                subtitleManager.reloadSubtitles(java.util.List.of(new Subtitle(1, "", "")));
+            }
+            if (controller != null) {
+                controller.applySettingsToFormattingTools(project.getSettings());
+                System.out.println("ProjectFileManager: setSession called on controller with session " + session.hashCode());
+                System.out.println("Photo URI in settings: " + project.getSettings().getProjectorImageUri());
+                controller.setSession(session);
             }
-        } catch (IOException ex) {
-            showError("Open Project Failed", ex);
+            appSupplier.get().updateTitle(project.getFileName());
+            session.clearDirty();
+            dirtySetter.accept(false);
+            refreshActions();
         }
     }
 
     private void saveProject() {
+        saveProject(null);
+    }
+
+    private void saveProject(Runnable onSaved) {
+        if (isBusy()) return;
         SublyProjectSession session = sessionSupplier.get();
         if (session == null) return;
         session.ensureAllChapterIds();
         subtitleManager.syncCurrentChapterToModel();
         File target = session.getProjectFile();
         if (target == null) {
-            saveProjectAs();
+            saveProjectAs(onSaved);
             return;
         }
         var project = ProjectBuilders.fromUi(target.getName(), session);
-        try {
-            SublyProjectIO.save(project, target.toPath());
-            appSupplier.get().updateTitle(project.getFileName());
-            session.clearDirty();
-            dirtySetter.accept(false);
-            refreshActions();
-        } catch (IOException ex) {
-            showError("Save Project Failed", ex);
-        }
+        writeProject(project, target, onSaved);
     }
 
     private void saveProjectAs() {
+        saveProjectAs(null);
+    }
+
+    private void saveProjectAs(Runnable onSaved) {
+        if (isBusy()) return;
         SublyProjectSession session = sessionSupplier.get();
         if (session == null) return;
         subtitleManager.syncCurrentChapterToModel();
         session.ensureAllChapterIds();
         FileChooser chooser = new FileChooser();
         chooser.setTitle("Save Project");
-        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Subly Project (*" + PROJECT_EXT + ")", "*" + PROJECT_EXT));
+        FileChooser.ExtensionFilter jsonFilter =
+                new FileChooser.ExtensionFilter("Subly Project (*" + PROJECT_EXT + ")", "*" + PROJECT_EXT);
+        FileChooser.ExtensionFilter binaryFilter =
+                new FileChooser.ExtensionFilter("Subly Project, compact binary (*" + PROJECT_EXT + ")", "*" + PROJECT_EXT);
+        chooser.getExtensionFilters().addAll(jsonFilter, binaryFilter);
+        chooser.setSelectedExtensionFilter(
+                session.getSchemaVersion() >= SublyProjectFile.BINARY_SCHEMA_VERSION ? binaryFilter : jsonFilter);
         File initial = session.getProjectFile();
         if (initial != null && initial.getParentFile() != null) {
             chooser.setInitialDirectory(initial.getParentFile());
@@ -223,27 +296,160 @@ public class ProjectFileManager {
             chosen = new File(chosen.getParentFile(), chosen.getName() + PROJECT_EXT);
         }
         session.setProjectFile(chosen);
+        session.setSchemaVersion(chooser.getSelectedExtensionFilter() == binaryFilter
+                ? SublyProjectFile.BINARY_SCHEMA_VERSION : SublyProjectFile.JSON_SCHEMA_VERSION);
         subtitleManager.syncCurrentChapterToModel();
         var project = ProjectBuilders.fromUi(chosen.getName(), session);
-        try {
-            SublyProjectIO.save(project, chosen.toPath());
-            appSupplier.get().updateTitle(project.getFileName());
-            session.clearDirty();
-            dirtySetter.accept(false);
-            refreshActions();
-        } catch (IOException ex) {
-            showError("Save Project Failed", ex);
-        }
+        writeProject(project, chosen, onSaved);
     }
 
-    private void requestExit() {
-        if (confirmWithUnsaved("You have unsaved changes.", "Save changes before exiting?")) {
-            Platform.exit();
+    // The project is a detached snapshot, so editing (and the live show) continues while it is written
+    private void writeProject(SublyProjectFile project, File target, Runnable onSaved) {
+        SublyProjectSession session = sessionSupplier.get();
+        // Cleared up front: edits made while the archive is written mark the project dirty again
+        session.clearDirty();
+        dirtySetter.accept(false);
+        runInBackground("Saving " + target.getName(),
+                progress -> {
+                    SublyProjectIO.save(project, target.toPath(), progress);
+                    return project;
+                },
+                saved -> {
+                    // the archive now holds the snapshot; edits made during the save stay journaled
+                    journal.reset(target, saved);
+                    appSupplier.get().updateTitle(saved.getFileName());
+                    refreshActions();
+                    if (onSaved != null) onSaved.run();
+                },
+                "Save Project Failed",
+                () -> {
+                    session.touch();
+                    dirtySetter.accept(true);
+                    refreshActions();
+                });
+    }
+
+    /**
+     * Streams the chosen SRT/VTT/TSV files into new chapters (one per file, or per "# Title" marker)
+     * on a background thread; rows reach the session in batches, so the UI stays responsive.
+     * A failed or cancelled import removes the chapters it added.
+     */
+    private void importSubtitles() {
+        if (isBusy()) return;
+        SublyProjectSession session = sessionSupplier.get();
+        if (session == null) return;
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Import Subtitles");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter(
+                "Subtitles (*.srt, *.vtt, *.tsv)", "*.srt", "*.vtt", "*.tsv"));
+        List<File> files = chooser.showOpenMultipleDialog(new Stage());
+        if (files == null || files.isEmpty()) return;
+        subtitleManager.syncCurrentChapterToModel();
+        ImportBatches batches = new ImportBatches(session, chapterManager::removeChapters);
+        runInBackground("Importing subtitles",
+                progress -> {
+                    long total = files.stream().mapToLong(File::length).sum();
+                    long[] done = {0};
+                    for (File file : files) {
+                        batches.startFile(stripExt(file.getName()), progress);
+                        Path path = file.toPath();
+                        try (InputStream in = new FilterInputStream(Files.newInputStream(path)) {
+                            @Override
+                            public int read(byte[] b, int off, int len) throws IOException {
+                                int n = super.read(b, off, len);
+                                if (n > 0) progress.update(done[0] += n, total);
+                                return n;
+                            }
+                        }) {
+                            SubtitleFileReader.Format format = SubtitleFileReader.Format.of(path);
+                            if (format == null) throw new IOException("Unsupported subtitle file: " + file.getName());
+                            SubtitleFileReader.read(in, format, batches);
+                        }
+                        batches.flush();
+                    }
+                    return batches;
+                },
+                imported -> {
+                    if (imported.isEmpty()) return;
+                    session.touch();
+                    dirtySetter.accept(true);
+                    journal.markAllChanged();
+                },
+                "Import Subtitles Failed",
+                batches::rollback);
+    }
+
+    /**
+     * Exit path shared by File > Exit and the window's close button; the journal is only
+     * deleted once unsaved changes were saved or explicitly discarded. While an open, save or
+     * import is running the exit is queued: the progress dialog is brought back to the front
+     * and says so, and Cancel there stops the task and exits right away.
+     */
+    public void requestExit() {
+        if (isBusy()) {
+            exitQueued = true;
+            if (runningProgress != null) {
+                runningProgress.setHeaderText("Subly will exit when this finishes. Cancel to exit now.");
+                if (runningProgress.getDialogPane().getScene().getWindow() instanceof Stage stage) stage.toFront();
+            }
+            return;
         }
+        confirmWithUnsaved("You have unsaved changes.", "Save changes before exiting?", () -> {
+            journal.discard();
+            Platform.exit();
+        });
+    }
+
+    /**
+     * Offers to replay an autosave journal left behind by a crash on top of its last saved project.
+     * Without one (or when declined) a fresh journal is started for the untitled session.
+     */
+    public void offerJournalRecovery() {
+        Platform.runLater(() -> {
+            Optional<EditJournal.Recovery> found = EditJournal.findRecovery(EditJournal.defaultDirectory());
+            if (found.isEmpty()) {
+                journal.reset(null, null);
+                return;
+            }
+            EditJournal.Recovery recovery = found.get();
+            File base = recovery.baseFile();
+            Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+            alert.setTitle("Recover unsaved changes");
+            alert.setHeaderText("Subly did not shut down cleanly.");
+            alert.setContentText("Recover unsaved changes to " + (base != null ? base.getName() : "Untitled")
+                    + " from " + DateTimeFormatter.ofLocalizedDateTime(FormatStyle.SHORT)
+                    .format(recovery.modified().atZone(ZoneId.systemDefault())) + "?");
+            alert.getButtonTypes().setAll(ButtonType.YES, ButtonType.NO);
+            if (alert.showAndWait().orElse(ButtonType.NO) != ButtonType.YES) {
+                recovery.delete();
+                journal.reset(null, null);
+                return;
+            }
+            boolean hasBase = base != null && base.isFile();
+            runInBackground("Recovering " + (hasBase ? base.getName() : "Untitled"),
+                    progress -> hasBase
+                            ? SublyProjectIO.open(base.toPath(), SublyProjectFile.class, progress)
+                            : new SublyProjectFile(),
+                    project -> {
+                        journal.reset(hasBase ? base : null, project);
+                        SublyProjectFile recovered = recovery.apply(project);
+                        if (recovered.getSettings() == null) recovered.setSettings(sessionSupplier.get().getSettings());
+                        applyOpenedProject(hasBase ? base : null, recovered);
+                        // the recovered edits are unsaved: keep them dirty and journaled
+                        sessionSupplier.get().touch();
+                        dirtySetter.accept(true);
+                        journal.markAllChanged();
+                    },
+                    "Recover Project Failed",
+                    () -> journal.reset(null, null));
+        });
     }
 
-    private boolean confirmWithUnsaved(String header, String content) {
-        if (!dirtyFlagSupplier.get()) return true;
+    private void confirmWithUnsaved(String header, String content, Runnable proceed) {
+        if (!dirtyFlagSupplier.get()) {
+            proceed.run();
+            return;
+        }
         ButtonType saveBtn = new ButtonType("Save", ButtonBar.ButtonData.OK_DONE);
         ButtonType dontSaveBtn = new ButtonType("Don't Save", ButtonBar.ButtonData.NO);
         ButtonType cancelBtn = new ButtonType("Cancel", ButtonBar.ButtonData.CANCEL_CLOSE);
@@ -254,20 +460,165 @@ public class ProjectFileManager {
         alert.getButtonTypes().setAll(saveBtn, dontSaveBtn, cancelBtn);
         ButtonType chosen = alert.showAndWait().orElse(cancelBtn);
         if (chosen == saveBtn) {
+            // proceed only once the background save has succeeded
             File target = sessionSupplier.get().getProjectFile();
             if (target == null) {
-                saveProjectAs();
+                saveProjectAs(proceed);
             } else {
-                saveProject();
+                saveProject(proceed);
             }
-            File f = sessionSupplier.get().getProjectFile();
-            boolean success = (f != null && f.exists());
-            if (success) dirtySetter.accept(false);
-            return success;
         } else if (chosen == dontSaveBtn) {
-            return true;
+            proceed.run();
+        }
+    }
+
+    private boolean isBusy() {
+        return runningTask != null;
+    }
+
+    private <T> void runInBackground(String title,
+                                     ArchiveJob<T> job,
+                                     Consumer<T> onSuccess,
+                                     String errorTitle,
+                                     Runnable onAbort) {
+        ArchiveTask<T> task = new ArchiveTask<>(title, job);
+        runningTask = task;
+        task.setOnSucceeded(e -> {
+            runningTask = null;
+            runningProgress = null;
+            onSuccess.accept(task.getValue());
+            resumeQueuedExit();
+        });
+        task.setOnFailed(e -> {
+            runningTask = null;
+            runningProgress = null;
+            onAbort.run();
+            Throwable t = task.getException();
+            showError(errorTitle, t instanceof Exception ex ? ex : new IOException(t));
+            resumeQueuedExit();
+        });
+        task.setOnCancelled(e -> {
+            runningTask = null;
+            runningProgress = null;
+            onAbort.run();
+            resumeQueuedExit();
+        });
+        runningProgress = DialogHelper.showProgress(menuBar.getScene() != null ? menuBar.getScene().getWindow() : null, task);
+        IO_EXECUTOR.execute(task);
+    }
+
+    // A follow-up task started by onSuccess (e.g. save, then open) queues the exit again
+    private void resumeQueuedExit() {
+        if (!exitQueued || isBusy()) return;
+        exitQueued = false;
+        requestExit();
+    }
+
+    /**
+     * Import sink: collects rows on the worker and hands them to the FX thread IMPORT_BATCH_ROWS
+     * at a time. A chapter is created with its first batch, so empty files add nothing.
+     */
+    private static final class ImportBatches implements SubtitleFileReader.Sink {
+        private final SublyProjectSession session;
+        private final Consumer<List<Chapter>> removeChapters;
+        // FX thread only
+        private final List<Chapter> created = new ArrayList<>();
+        private volatile boolean aborted;
+
+        // worker only
+        private ArchiveProgress progress = ArchiveProgress.NONE;
+        private ImportSlot current;
+        private List<Subtitle> batch = new ArrayList<>();
+        private int rowInChapter;
+
+        ImportBatches(SublyProjectSession session, Consumer<List<Chapter>> removeChapters) {
+            this.session = session;
+            this.removeChapters = removeChapters;
+        }
+
+        void startFile(String title, ArchiveProgress progress) {
+            this.progress = progress;
+            chapter(title);
+        }
+
+        @Override
+        public void chapter(String title) {
+            flush();
+            current = new ImportSlot(title == null || title.isBlank() ? "Imported" : title);
+            rowInChapter = 0;
+        }
+
+        @Override
+        public void subtitle(String primary, String secondary) {
+            batch.add(new Subtitle(++rowInChapter, primary, secondary));
+            if (batch.size() >= IMPORT_BATCH_ROWS) flush();
+        }
+
+        void flush() {
+            progress.checkCancelled();
+            if (batch.isEmpty()) return;
+            List<Subtitle> rows = batch;
+            ImportSlot slot = current;
+            batch = new ArrayList<>(IMPORT_BATCH_ROWS);
+            Platform.runLater(() -> {
+                if (aborted) return;
+                if (slot.chapter == null) {
+                    slot.chapter = session.addChapter(slot.title);
+                    created.add(slot.chapter);
+                }
+                slot.chapter.getSubtitles().addAll(rows);
+            });
+        }
+
+        // FX thread, once the import succeeded (queued batches have run by then)
+        boolean isEmpty() {
+            return created.isEmpty();
+        }
+
+        // FX thread; batches still queued are dropped. The selection may sit on a created chapter,
+        // so removal goes through the chapter list, which re-selects and rebinds the table
+        void rollback() {
+            aborted = true;
+            removeChapters.accept(List.copyOf(created));
+            created.clear();
+        }
+    }
+
+    private static final class ImportSlot {
+        final String title;
+        Chapter chapter;
+
+        ImportSlot(String title) {
+            this.title = title;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ArchiveJob<T> {
+        T run(ArchiveProgress progress) throws IOException;
+    }
+
+    // Bridges archive progress/cancellation to a JavaFX Task (FutureTask already provides isCancelled())
+    private static final class ArchiveTask<T> extends Task<T> implements ArchiveProgress {
+        private final ArchiveJob<T> job;
+
+        ArchiveTask(String title, ArchiveJob<T> job) {
+            this.job = job;
+            updateTitle(title);
+        }
+
+        @Override
+        protected T call() throws Exception {
+            return job.run(this);
+        }
+
+        @Override
+        public void update(long workDone, long totalWork) {
+            if (totalWork > 0) {
+                updateProgress(workDone, totalWork);
+                updateMessage(String.format("%,d / %,d KB", workDone / 1024, totalWork / 1024));
+            }
         }
-        return false;
     }
 
     private void showError(String title, Exception ex) {
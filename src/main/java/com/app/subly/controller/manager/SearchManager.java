@@ -0,0 +1,309 @@
+package com.app.subly.controller.manager;
+
+import com.app.subly.component.EditHistory;
+import com.app.subly.component.RowIndexer;
+import com.app.subly.component.TrailingBlankRowPolicy;
+import com.app.subly.model.Chapter;
+import com.app.subly.model.Subtitle;
+import com.app.subly.project.SublyProjectSession;
+import com.app.subly.project.SubtitleSearchIndex;
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.scene.control.*;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
+import javafx.scene.layout.GridPane;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Edit > Find / Find Next / Replace All across every chapter, backed by the session's
+ * SubtitleSearchIndex. Find Next switches to the hit's chapter and selects its row; Replace All
+ * records one undo entry per chapter it changed, each in that chapter's own history; rows it
+ * leaves blank are removed like a cell commit would, within the same undo entry.
+ */
+public class SearchManager {
+
+    private final MenuItem findMenuItem;
+    private final MenuItem findNextMenuItem;
+    private final MenuItem replaceMenuItem;
+    private final ListView<Chapter> chapterListView;
+    private final SubtitleTableManager subtitleManager;
+    private final Supplier<SublyProjectSession> sessionSupplier;
+    private final Runnable markDirty;
+    private final Runnable markAllChanged;
+    private final TrailingBlankRowPolicy trailingBlank = new TrailingBlankRowPolicy();
+
+    private String lastQuery = "";
+    private String lastReplacement = "";
+
+    public SearchManager(MenuItem findMenuItem,
+                         MenuItem findNextMenuItem,
+                         MenuItem replaceMenuItem,
+                         ListView<Chapter> chapterListView,
+                         SubtitleTableManager subtitleManager,
+                         Supplier<SublyProjectSession> sessionSupplier,
+                         Runnable markDirty,
+                         Runnable markAllChanged) {
+        this.findMenuItem = findMenuItem;
+        this.findNextMenuItem = findNextMenuItem;
+        this.replaceMenuItem = replaceMenuItem;
+        this.chapterListView = chapterListView;
+        this.subtitleManager = subtitleManager;
+        this.sessionSupplier = sessionSupplier;
+        this.markDirty = markDirty != null ? markDirty : () -> {
+        };
+        this.markAllChanged = markAllChanged != null ? markAllChanged : () -> {
+        };
+    }
+
+    public void initialize() {
+        findMenuItem.setAccelerator(new KeyCodeCombination(KeyCode.F, KeyCombination.CONTROL_DOWN));
+        findNextMenuItem.setAccelerator(new KeyCodeCombination(KeyCode.F3));
+        replaceMenuItem.setAccelerator(new KeyCodeCombination(KeyCode.H, KeyCombination.CONTROL_DOWN));
+        findMenuItem.setOnAction(e -> find());
+        findNextMenuItem.setOnAction(e -> {
+            if (lastQuery.isEmpty()) find();
+            else findNext(lastQuery);
+        });
+        replaceMenuItem.setOnAction(e -> replaceAll());
+    }
+
+    private void find() {
+        TextInputDialog dialog = new TextInputDialog(lastQuery);
+        dialog.setTitle("Find");
+        dialog.setHeaderText("Find in all chapters");
+        dialog.setContentText("Text:");
+        dialog.showAndWait()
+                .filter(q -> !q.isEmpty())
+                .ifPresent(q -> {
+                    lastQuery = q;
+                    findNext(q);
+                });
+    }
+
+    private void findNext(String query) {
+        SublyProjectSession session = sessionSupplier.get();
+        if (session == null) return;
+        TableView<Subtitle> table = subtitleManager.getTable();
+        int chapter = Math.max(chapterListView.getSelectionModel().getSelectedIndex(), 0);
+        int row = table.getSelectionModel().getSelectedIndex();
+        SubtitleSearchIndex.Hit hit = session.getSearchIndex().findNext(query, chapter, row);
+        if (hit == null) {
+            info("Find", "No matches for \"" + query + "\".");
+            return;
+        }
+        if (chapterListView.getSelectionModel().getSelectedIndex() != hit.chapterIndex()) {
+            chapterListView.getSelectionModel().select(hit.chapterIndex());
+        }
+        table.getSelectionModel().clearAndSelect(hit.row());
+        table.getFocusModel().focus(hit.row());
+        table.scrollTo(hit.row());
+        table.requestFocus();
+    }
+
+    private void replaceAll() {
+        SublyProjectSession session = sessionSupplier.get();
+        TableView<Subtitle> table = subtitleManager.getTable();
+        if (session == null || !table.isEditable()) return;
+
+        TextField findField = new TextField(lastQuery);
+        TextField replaceField = new TextField(lastReplacement);
+        GridPane grid = new GridPane();
+        grid.setHgap(8);
+        grid.setVgap(8);
+        grid.setPadding(new Insets(10));
+        grid.addRow(0, new Label("Find:"), findField);
+        grid.addRow(1, new Label("Replace with:"), replaceField);
+
+        Dialog<ButtonType> dialog = new Dialog<>();
+        dialog.setTitle("Replace All");
+        dialog.setHeaderText("Replace in all chapters");
+        dialog.getDialogPane().setContent(grid);
+        dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+        dialog.setOnShown(e -> findField.requestFocus());
+        if (dialog.showAndWait().orElse(ButtonType.CANCEL) != ButtonType.OK) return;
+
+        String query = findField.getText();
+        String replacement = replaceField.getText() == null ? "" : replaceField.getText();
+        if (query == null || query.isEmpty()) return;
+        lastQuery = query;
+        lastReplacement = replacement;
+
+        SubtitleSearchIndex index = session.getSearchIndex();
+        Pattern pattern = SubtitleSearchIndex.pattern(query);
+        String literal = Matcher.quoteReplacement(replacement);
+        // One part per chapter, each undone from that chapter's own history
+        Map<Chapter, ReplaceEdit> parts = new LinkedHashMap<>();
+        for (SubtitleSearchIndex.Hit hit : index.find(query)) {
+            Subtitle row = hit.subtitle();
+            parts.computeIfAbsent(hit.chapter(),
+                            c -> new ReplaceEdit(c::getSubtitles, trailingBlank, index::update, table::refresh))
+                    .add(row, hit.row(), replace(pattern, row.getPrimaryText(), literal),
+                            replace(pattern, row.getSecondaryText(), literal));
+        }
+        parts.values().removeIf(ReplaceEdit::isNoOp);
+        if (parts.isEmpty()) {
+            info("Replace All", "No matches for \"" + query + "\".");
+            return;
+        }
+        int count = 0;
+        EditHistory history = subtitleManager.getHistory();
+        for (Map.Entry<Chapter, ReplaceEdit> part : parts.entrySet()) {
+            part.getValue().apply();
+            count += part.getValue().size();
+            if (history != null) history.push(part.getKey().getId(), part.getValue());
+        }
+        table.refresh();
+        markAllChanged.run();
+        markDirty.run();
+        info("Replace All", "Replaced in " + count + " subtitle" + (count == 1 ? "" : "s") + ".");
+    }
+
+    private static String replace(Pattern pattern, String text, String literal) {
+        if (text == null || text.isEmpty()) return text;
+        return pattern.matcher(text).replaceAll(literal);
+    }
+
+    private static void info(String title, String message) {
+        Alert alert = new Alert(Alert.AlertType.INFORMATION, message, ButtonType.OK);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.showAndWait();
+    }
+
+    // Columnar like PasteEdit: every row the replace touched in one chapter. Rows it blanks are
+    // settled as a cell commit would (interior ones removed, then the tail trimmed), and that
+    // removal is recorded with anchors like SubtitleTableManager.rowsRemoved() so undo re-inserts them
+    static final class ReplaceEdit implements EditHistory.Edit {
+        private final List<Subtitle> rows = new ArrayList<>();
+        private final List<Integer> hints = new ArrayList<>();
+        private final List<String> oldPrimary = new ArrayList<>();
+        private final List<String> newPrimary = new ArrayList<>();
+        private final List<String> oldSecondary = new ArrayList<>();
+        private final List<String> newSecondary = new ArrayList<>();
+        // Rows removed by the last apply/redo, ascending by position, with the row in front of each
+        private final List<Integer> removedAt = new ArrayList<>();
+        private final List<Subtitle> removedRows = new ArrayList<>();
+        private final List<Subtitle> removedAnchors = new ArrayList<>();
+        // The chapter's current list: it can be re-wrapped while this edit sits in the history
+        private final Supplier<ObservableList<Subtitle>> items;
+        private final TrailingBlankRowPolicy trailingBlank;
+        private final Consumer<Subtitle> rowWritten;
+        private final Runnable repaint;
+
+        ReplaceEdit(Supplier<ObservableList<Subtitle>> items, TrailingBlankRowPolicy trailingBlank,
+                    Consumer<Subtitle> rowWritten, Runnable repaint) {
+            this.items = items;
+            this.trailingBlank = trailingBlank;
+            this.rowWritten = rowWritten;
+            this.repaint = repaint;
+        }
+
+        void add(Subtitle row, int hint, String primary, String secondary) {
+            if (Objects.equals(row.getPrimaryText(), primary) && Objects.equals(row.getSecondaryText(), secondary)) {
+                return;
+            }
+            rows.add(row);
+            hints.add(hint);
+            oldPrimary.add(row.getPrimaryText());
+            newPrimary.add(primary);
+            oldSecondary.add(row.getSecondaryText());
+            newSecondary.add(secondary);
+        }
+
+        int size() {
+            return rows.size();
+        }
+
+        // First application; the caller repaints once for all chapters
+        void apply() {
+            write(newPrimary, newSecondary);
+            removeBlankRows();
+        }
+
+        @Override
+        public boolean isNoOp() {
+            return rows.isEmpty();
+        }
+
+        @Override
+        public long estimatedBytes() {
+            long bytes = 64 + 16L * rows.size() + 24L * removedRows.size();
+            for (int i = 0; i < rows.size(); i++) {
+                bytes += EditHistory.estimateBytes(oldPrimary.get(i)) + EditHistory.estimateBytes(newPrimary.get(i))
+                        + EditHistory.estimateBytes(oldSecondary.get(i)) + EditHistory.estimateBytes(newSecondary.get(i))
+                        + 32;
+            }
+            return bytes;
+        }
+
+        @Override
+        public void undo() {
+            restoreRemovedRows();
+            write(oldPrimary, oldSecondary);
+            trailingBlank.trimTail(items.get());
+            repaint.run();
+        }
+
+        @Override
+        public void redo() {
+            write(newPrimary, newSecondary);
+            removeBlankRows();
+            repaint.run();
+        }
+
+        private void write(List<String> primary, List<String> secondary) {
+            for (int i = 0; i < rows.size(); i++) {
+                Subtitle row = rows.get(i);
+                row.setPrimaryText(primary.get(i));
+                row.setSecondaryText(secondary.get(i));
+                rowWritten.accept(row);
+            }
+        }
+
+        private void removeBlankRows() {
+            removedAt.clear();
+            removedRows.clear();
+            removedAnchors.clear();
+            ObservableList<Subtitle> list = items.get();
+            List<Integer> blank = new ArrayList<>();
+            for (int i = 0; i < rows.size(); i++) {
+                if (!trailingBlank.isBlankRow(rows.get(i))) continue;
+                int at = RowIndexer.indexOf(list, rows.get(i), hints.get(i));
+                // The last row stays, as the trailing blank row
+                if (at >= 0 && at < list.size() - 1) blank.add(at);
+            }
+            blank.sort(null);
+            for (int at : blank) {
+                removedAt.add(at);
+                removedRows.add(list.get(at));
+                removedAnchors.add(at > 0 ? list.get(at - 1) : null);
+            }
+            // Back to front, so earlier positions stay valid
+            for (int i = blank.size() - 1; i >= 0; i--) list.remove((int) blank.get(i));
+            trailingBlank.trimTail(list);
+        }
+
+        // Ascending, so an anchor that was itself removed is already back in place
+        private void restoreRemovedRows() {
+            ObservableList<Subtitle> list = items.get();
+            for (int i = 0; i < removedRows.size(); i++) {
+                int hint = removedAt.get(i);
+                Subtitle anchor = removedAnchors.get(i);
+                int at = anchor == null ? 0 : RowIndexer.indexOf(list, anchor, hint - 1) + 1;
+                if (anchor != null && at == 0) at = Math.min(hint, list.size());
+                list.add(at, removedRows.get(i));
+            }
+        }
+    }
+}
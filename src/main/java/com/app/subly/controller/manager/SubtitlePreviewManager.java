@@ -1,5 +1,6 @@
 package com.app.subly.controller.manager;
 
+import com.app.subly.persistence.ProjectMedia;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -15,6 +16,8 @@ import javafx.scene.text.TextAlignment;
 import javafx.scene.text.TextFlow;
 import javafx.scene.shape.Rectangle;
 
+import java.io.InputStream;
+
 public class SubtitlePreviewManager {
 
     public enum PreviewSizingMode {
@@ -218,7 +221,7 @@ public class SubtitlePreviewManager {
             bgImageView.setImage(null);
             return;
         }
-        Image img = safeLoad(resolveToUri(uriOrPath));
+        Image img = ProjectMedia.exists(uriOrPath) ? safeLoadMedia(uriOrPath) : safeLoad(resolveToUri(uriOrPath));
         if (img == null) return;
         bgImageView.setImage(img);
         refitImage();
@@ -286,6 +289,15 @@ public class SubtitlePreviewManager {
         }
     }
 
+    private Image safeLoadMedia(String ref) {
+        try (InputStream in = ProjectMedia.open(ref)) {
+            Image img = new Image(in);
+            return img.isError() ? null : img;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
     private double safe(double v) {
         return (Double.isNaN(v) || Double.isInfinite(v)) ? 0 : v;
     }
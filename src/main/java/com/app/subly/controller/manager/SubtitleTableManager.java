@@ -17,8 +17,12 @@ import javafx.scene.input.MouseEvent;
 import javafx.scene.text.Text;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.function.Supplier;
 
 public class SubtitleTableManager {
@@ -38,6 +42,8 @@ public class SubtitleTableManager {
     private final TrailingBlankRowPolicy trailingBlank = new TrailingBlankRowPolicy();
     private EditHistory history;
     private PasteManager pasteManager;
+    // Rows whose text an undo/redo or paste wrote, with a position hint; see repaintWrittenRows()
+    private final Map<Subtitle, Integer> writtenRows = new IdentityHashMap<>();
 
     public SubtitleTableManager(TableView<Subtitle> table,
                                 TableColumn<Subtitle, Integer> indexColumn,
@@ -88,6 +94,9 @@ public class SubtitleTableManager {
         table.getColumns().setAll(indexColumn, primaryColumn, secondaryColumn);
         table.setTableMenuButtonVisible(false);
         table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+        table.getStyleClass().add(MultilineTableCell.TABLE_STYLE_CLASS);
+        var css = MultilineTableCell.class.getResource(MultilineTableCell.STYLESHEET);
+        if (css != null) table.getStylesheets().add(css.toExternalForm());
 
         indexColumn.setText("#");
         indexColumn.setMinWidth(30);
@@ -103,15 +112,9 @@ public class SubtitleTableManager {
         });
         table.widthProperty().addListener((o, ov, nv) -> applyInitialWidths());
 
-        indexColumn.setCellValueFactory(cd -> {
-            Integer id = cd.getValue().getId();
-            int value;
-            if (id == null) {
-                int pos = table.getItems().indexOf(cd.getValue());
-                value = pos >= 0 ? pos + 1 : 0;
-            } else value = id;
-            return new javafx.beans.property.SimpleIntegerProperty(value).asObject();
-        });
+        // The number shown is the row position (RowNumberCell); the column has no value and is not
+        // bound to Subtitle.id, which is only renumbered on save
+        indexColumn.setCellFactory(col -> new RowNumberCell());
         primaryColumn.setCellValueFactory(cd ->
                 new javafx.beans.property.SimpleStringProperty(cd.getValue().getPrimaryText()));
         secondaryColumn.setCellValueFactory(cd ->
@@ -159,21 +162,23 @@ public class SubtitleTableManager {
     }
 
     private void setupHistoryAndPaste() {
-        history = new EditHistory(() -> {
-            trailingBlank.ensureTrailingBlankRow(table);
-            RowIndexer.renumber(table.getItems());
-            table.refresh();
-        }, markDirty);
+        // Edits note the rows they write and these are repainted once the whole edit is applied;
+        // row numbers follow position, so nothing else needs a refresh
+        Runnable afterEdit = () -> {
+            repaintWrittenRows();
+            trailingBlank.trimTail(table.getItems());
+        };
+        history = new EditHistory(afterEdit, markDirty);
 
         pasteManager = new PasteManager(
                 table,
                 primaryColumn,
                 secondaryColumn,
-                indexColumn,
                 () -> new Subtitle(table.getItems().size() + 1, "", ""),
-                () -> trailingBlank.ensureTrailingBlankRow(table),
+                afterEdit,
                 markDirty,
-                history
+                history,
+                this::rowWritten
         );
         pasteManager.install();
     }
@@ -188,11 +193,10 @@ public class SubtitleTableManager {
         });
 
         primaryColumn.setOnEditCommit(ev -> {
-            int rowIndex = ev.getTablePosition().getRow();
             Subtitle row = ev.getRowValue();
-            String oldV = ev.getOldValue();
             String newV = ev.getNewValue();
-            row.setPrimaryText(newV);
+            commitCell(ev.getTablePosition().getRow(), row, primaryColumn, Subtitle::setPrimaryText,
+                    ev.getOldValue(), newV);
             Subtitle sel = table.getSelectionModel().getSelectedItem();
             if (sel == row) {
                 String txt = newV == null ? "" : newV.replace("\\n", "\n");
@@ -200,38 +204,59 @@ public class SubtitleTableManager {
                 var proj = projectorSupplier.get();
                 if (proj != null) proj.setText(txt);
             }
-            if (history != null) {
-                history.push(EditHistory.of(
-                        () -> safeRow(rowIndex).setPrimaryText(oldV),
-                        () -> safeRow(rowIndex).setPrimaryText(newV)
-                ));
-            }
-            trailingBlank.ensureTrailingBlankRow(table);
-            markDirty.run();
         });
 
-        secondaryColumn.setOnEditCommit(ev -> {
-            int rowIndex = ev.getTablePosition().getRow();
-            String oldV = ev.getOldValue();
-            String newV = ev.getNewValue();
-            ev.getRowValue().setSecondaryText(newV);
-            if (history != null) {
-                history.push(EditHistory.of(
-                        () -> safeRow(rowIndex).setSecondaryText(oldV),
-                        () -> safeRow(rowIndex).setSecondaryText(newV)
-                ));
-            }
-            trailingBlank.ensureTrailingBlankRow(table);
-            markDirty.run();
-        });
+        secondaryColumn.setOnEditCommit(ev -> commitCell(ev.getTablePosition().getRow(), ev.getRowValue(),
+                secondaryColumn, Subtitle::setSecondaryText, ev.getOldValue(), ev.getNewValue()));
 
         primaryColumn.setEditable(true);
         secondaryColumn.setEditable(true);
     }
 
-    private Subtitle safeRow(int idx) {
-        if (idx >= 0 && idx < table.getItems().size()) return table.getItems().get(idx);
-        return new Subtitle(idx + 1, "", "");
+    // Only the edited row and the tail are checked; a row blanked by the edit is removed, and
+    // that removal is part of the same undo entry
+    private void commitCell(int rowIndex, Subtitle row, TableColumn<Subtitle, String> column,
+                            BiConsumer<Subtitle, String> setter, String oldV, String newV) {
+        var items = table.getItems();
+        Subtitle anchor = rowIndex > 0 && rowIndex <= items.size() ? items.get(rowIndex - 1) : null;
+        setter.accept(row, newV);
+        var sess = sessionSupplier.get();
+        if (sess != null) sess.getSearchIndex().update(row);
+        trailingBlank.settle(items, rowIndex, rowIndex + 1);
+        if (history != null) {
+            EditHistory.Edit cell = new EditHistory.CellEdit(row, column, v -> {
+                setter.accept(row, v);
+                rowWritten(row, rowIndex);
+            }, oldV, newV);
+            if (RowIndexer.indexOf(items, row, rowIndex) >= 0) {
+                history.push(cell);
+            } else {
+                history.push(new EditHistory.CompoundEdit()
+                        .add(cell)
+                        .add(rowsRemoved(List.of(rowIndex), List.of(row), Collections.singletonList(anchor))));
+            }
+        }
+        markDirty.run();
+    }
+
+    private void rowWritten(Subtitle row, int hint) {
+        writtenRows.putIfAbsent(row, hint);
+    }
+
+    // A single row is re-set in place (one list change); several rows, e.g. a compound edit or a
+    // paste replayed by undo, get one refresh instead of a replace change per row
+    private void repaintWrittenRows() {
+        if (writtenRows.isEmpty()) return;
+        var sess = sessionSupplier.get();
+        if (sess != null) writtenRows.keySet().forEach(sess.getSearchIndex()::update);
+        if (writtenRows.size() == 1) {
+            var only = writtenRows.entrySet().iterator().next();
+            writtenRows.clear();
+            RowIndexer.invalidate(table.getItems(), only.getKey(), only.getValue());
+        } else {
+            writtenRows.clear();
+            table.refresh();
+        }
     }
 
     private void handleTabAddRow(KeyEvent e) {
@@ -241,12 +266,16 @@ public class SubtitleTableManager {
             Subtitle s = new Subtitle(last + 2, "", "");
             table.getItems().add(s);
             if (history != null) {
+                Subtitle before = table.getItems().get(last);
                 history.push(EditHistory.of(
                         () -> {
-                            if (!table.getItems().isEmpty())
-                                table.getItems().remove(table.getItems().size() - 1);
+                            int at = RowIndexer.indexOf(table.getItems(), s, last + 1);
+                            if (at >= 0) table.getItems().remove(at);
                         },
-                        () -> table.getItems().add(new Subtitle(table.getItems().size() + 1, "", ""))
+                        () -> {
+                            int at = RowIndexer.indexOf(table.getItems(), before, last) + 1;
+                            table.getItems().add(at > 0 ? at : table.getItems().size(), s);
+                        }
                 ));
             }
             table.getSelectionModel().select(s);
@@ -265,12 +294,15 @@ public class SubtitleTableManager {
 
         List<Integer> keptIdx = new ArrayList<>();
         List<Subtitle> keptRows = new ArrayList<>();
+        // Row in front of each deleted row at delete time; undo re-inserts after it
+        List<Subtitle> anchors = new ArrayList<>();
         for (int idx : indices) {
             if (idx >= 0 && idx < items.size()) {
                 Subtitle s = items.get(idx);
                 if (trailingBlank.isBlankRow(s) && idx == items.size() - 1) continue;
                 keptIdx.add(idx);
                 keptRows.add(s);
+                anchors.add(idx > 0 ? items.get(idx - 1) : null);
             }
         }
         if (keptIdx.isEmpty()) return;
@@ -279,34 +311,53 @@ public class SubtitleTableManager {
             int idx = keptIdx.get(i);
             if (idx >= 0 && idx < items.size()) items.remove(idx);
         }
-        trailingBlank.ensureTrailingBlankRow(table);
-        RowIndexer.renumber(items);
-        table.refresh();
+        trailingBlank.trimTail(items);
         markDirty.run();
 
-        if (history != null) {
-            EditHistory.CompoundEdit ce = new EditHistory.CompoundEdit();
-            ce.add(EditHistory.of(
-                    () -> {
-                        for (int i = 0; i < keptIdx.size(); i++) {
-                            int at = Math.min(keptIdx.get(i), table.getItems().size());
-                            table.getItems().add(at, keptRows.get(i));
-                        }
-                    },
-                    () -> {
-                        for (int i = keptIdx.size() - 1; i >= 0; i--) {
-                            int at = keptIdx.get(i);
-                            if (at >= 0 && at < table.getItems().size()) {
-                                table.getItems().remove(at);
-                            }
-                        }
-                    }
-            ));
-            history.push(ce);
-        }
+        if (history != null) history.push(rowsRemoved(keptIdx, keptRows, anchors));
         e.consume();
     }
 
+    /**
+     * Undo entry for rows removed at ascending positions; anchors are the rows that preceded
+     * them (null at the top), which undo re-inserts after.
+     */
+    private EditHistory.Edit rowsRemoved(List<Integer> positions, List<Subtitle> rows, List<Subtitle> anchors) {
+        return new EditHistory.Edit() {
+            @Override
+            public void undo() {
+                // Ascending, so an anchor that was itself deleted is already back in place
+                var items = table.getItems();
+                for (int i = 0; i < positions.size(); i++) {
+                    int hint = positions.get(i);
+                    Subtitle anchor = anchors.get(i);
+                    int at = anchor == null ? 0 : RowIndexer.indexOf(items, anchor, hint - 1) + 1;
+                    if (anchor != null && at == 0) at = Math.min(hint, items.size());
+                    items.add(at, rows.get(i));
+                }
+            }
+
+            @Override
+            public void redo() {
+                var items = table.getItems();
+                for (int i = positions.size() - 1; i >= 0; i--) {
+                    int at = RowIndexer.indexOf(items, rows.get(i), positions.get(i));
+                    if (at >= 0) items.remove(at);
+                }
+            }
+
+            @Override
+            public long estimatedBytes() {
+                long bytes = 64 + 24L * rows.size();
+                for (Subtitle row : rows) {
+                    bytes += 32 + EditHistory.estimateBytes(row.getPrimaryText())
+                            + EditHistory.estimateBytes(row.getSecondaryText());
+                }
+                return bytes;
+            }
+        };
+    }
+
     public void onSessionSet() {
         var sess = sessionSupplier.get();
         if (sess == null) return;
@@ -325,12 +376,20 @@ public class SubtitleTableManager {
         if (sess == null) return;
         Chapter ch = sess.getSelectedChapter();
         if (ch != null && sess.promotePlaceholderForSubtitleEdit()) {
+            // The rows typed so far become the new chapter's list
+            ch.setSubtitles(table.getItems());
             chapterListView.refresh();
         }
     }
 
     void reloadSubtitles(java.util.List<Subtitle> subtitles) {
-        var data = FXCollections.observableArrayList(subtitles);
+        // Undo is per chapter; rows are matched by identity, so edits stay valid across reloads
+        var sess = sessionSupplier.get();
+        Chapter shown = sess != null ? sess.getSelectedChapter() : null;
+        if (history != null) history.switchTo(shown != null ? shown.getId() : null);
+        // A chapter's own list is shown as is, so switching chapters copies nothing
+        ObservableList<Subtitle> data = subtitles instanceof ObservableList<Subtitle> rows
+                ? rows : FXCollections.observableArrayList(subtitles);
         table.setItems(data);
         if (!data.isEmpty()) {
             table.getSelectionModel().selectFirst();
@@ -338,7 +397,7 @@ public class SubtitleTableManager {
             var proj = projectorSupplier.get();
             if (proj != null) proj.setText(data.getFirst().getPrimaryText().replace("\\n", "\n"));
         }
-        trailingBlank.ensureTrailingBlankRow(table);
+        trailingBlank.trimTail(data);
     }
 
     void syncCurrentChapterToModel() {
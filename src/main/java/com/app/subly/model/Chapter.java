@@ -2,10 +2,11 @@ package com.app.subly.model;
 
 import com.app.subly.component.ChapterBackground;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -16,7 +17,8 @@ public class Chapter {
     private UUID id;
     private Integer index;
     private String title;
-    private List<Subtitle> subtitles = new ArrayList<>();
+    // The subtitle table shows this list directly while the chapter is selected
+    private ObservableList<Subtitle> subtitles = FXCollections.observableArrayList();
 
     @JsonIgnore
     private ChapterBackground background = ChapterBackground.transparent();
@@ -32,7 +34,12 @@ public class Chapter {
 
 
     public void setSubtitles(List<Subtitle> subtitles) {
-        this.subtitles = (subtitles != null) ? subtitles : new ArrayList<>();
+        if (subtitles instanceof ObservableList<Subtitle> observable) {
+            this.subtitles = observable;
+        } else {
+            this.subtitles = (subtitles != null)
+                    ? FXCollections.observableArrayList(subtitles) : FXCollections.observableArrayList();
+        }
     }
 
     public void setBackground(ChapterBackground background) {
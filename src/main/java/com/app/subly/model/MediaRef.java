@@ -0,0 +1,16 @@
+package com.app.subly.model;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a String field holding an image reference (path, file: URI or archive reference).
+ * Only fields carrying it are packed into / resolved from the archive's media/ folder;
+ * every other string in the model (subtitle text included) is written as is.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MediaRef {
+}
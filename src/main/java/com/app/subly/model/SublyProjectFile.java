@@ -12,7 +12,11 @@ import java.util.List;
 @NoArgsConstructor
 public class SublyProjectFile {
 
-    private Integer schemaVersion = 1;
+    // schemaVersion selects how the archive stores the model: readable project.json or binary project.smile
+    public static final int JSON_SCHEMA_VERSION = 1;
+    public static final int BINARY_SCHEMA_VERSION = 2;
+
+    private Integer schemaVersion = JSON_SCHEMA_VERSION;
     private String fileName;
     private SublySettings settings;
     private List<Chapter> chapters = new ArrayList<>();
@@ -16,6 +16,7 @@ import static com.app.subly.persistence.AppSettingsIO.*;
 @NoArgsConstructor
 public class SublySettings implements Serializable {
 
+    @MediaRef
     private String projectorImageUri;
     private BackgroundType backgroundType = DEFAULT_BACKGROUND_TYPE;
     private String projectorColor = DEFAULT_PROJECTOR_COLOR;
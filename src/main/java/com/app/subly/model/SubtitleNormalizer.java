@@ -50,7 +50,7 @@ public final class SubtitleNormalizer {
         }
     }
 
-    private static String safe(String v) {
+    public static String safe(String v) {
         return v == null ? "" : v.trim();
     }
 }
\ No newline at end of file
@@ -13,13 +13,22 @@ public class AppSettingsIO {
     public static final BackgroundType DEFAULT_BACKGROUND_TYPE = BackgroundType.SOLID_COLOR;
 
     // Text defaults values
-    public static final String DEFAULT_SUBTITLE_FONT_FAMILY = Font.getDefault().getFamily();
+    public static final String DEFAULT_SUBTITLE_FONT_FAMILY = defaultFontFamily();
     public static final String DEFAULT_SUBTITLE_COLOR = "1A1A1A";
     public static final Integer DEFAULT_SUBTITLE_FONT_SIZE = 72;
     public static final FontWeight DEFAULT_FONT_WEIGHT = FontWeight.NORMAL;
     public static final BorderWeight DEFAULT_SUBTITLE_BORDER_WEIGHT = BorderWeight.NORMAL;
     public static final String DEFAULT_SUBTITLE_BORDER_COLOR = "007ACC";
 
+    // Headless tools (SublyGenerator) build settings without a running JavaFX toolkit
+    private static String defaultFontFamily() {
+        try {
+            return Font.getDefault().getFamily();
+        } catch (RuntimeException | LinkageError e) {
+            return "System";
+        }
+    }
+
     public static SublySettings load() {
         SublySettings settings = new SublySettings();
         initWithDefaults(settings);
@@ -0,0 +1,29 @@
+package com.app.subly.persistence;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Progress/cancel surface for long-running archive operations.
+ * Called from the thread running the operation (usually a background worker).
+ */
+public interface ArchiveProgress {
+
+    ArchiveProgress NONE = new ArchiveProgress() {
+        @Override
+        public void update(long workDone, long totalWork) {
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+    };
+
+    void update(long workDone, long totalWork);
+
+    boolean isCancelled();
+
+    default void checkCancelled() {
+        if (isCancelled()) throw new CancellationException("Archive operation cancelled");
+    }
+}
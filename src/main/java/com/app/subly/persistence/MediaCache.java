@@ -0,0 +1,176 @@
+package com.app.subly.persistence;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.*;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * On-disk store for media extracted by ProjectArchiveIO.load() and by ProjectMedia for lazily
+ * opened projects, shared by every load.
+ * Files are named after their media/<hash>.<ext> entry, so an image is extracted once no matter
+ * how often (or from how many archives) it is loaded. The total size is kept under maxBytes by
+ * evicting the least recently used files, and the directory is deleted when the JVM exits.
+ */
+final class MediaCache {
+
+    static final long DEFAULT_MAX_BYTES = 512L * 1024 * 1024;
+
+    private final long maxBytes;
+    // file name -> size, in access order
+    private final Map<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private Path root;
+
+    MediaCache(long maxBytes) {
+        if (maxBytes <= 0) throw new IllegalArgumentException("maxBytes must be positive");
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Path of the cached copy of a media/ entry, extracting it on first use.
+     */
+    synchronized Path get(ZipFile zip, ZipEntry entry) throws IOException {
+        String name = fileName(entry.getName());
+        Path file = root().resolve(name);
+        Long size = entries.get(name);
+        if (size != null && (entry.getSize() < 0 || size == entry.getSize()) && Files.isRegularFile(file)) {
+            return file;
+        }
+
+        Path part = Files.createTempFile(root, name, ".part");
+        try {
+            try (InputStream in = zip.getInputStream(entry)) {
+                Files.copy(in, part, StandardCopyOption.REPLACE_EXISTING);
+            }
+            try {
+                Files.move(part, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(part, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(part);
+        }
+
+        long written = Files.size(file);
+        if (size != null) totalBytes -= size;
+        entries.put(name, written);
+        totalBytes += written;
+        evict(name);
+        return file;
+    }
+
+    /**
+     * Stream over the cached copy of a media/ entry, extracting it on first use. Opened under the
+     * cache lock, so another thread's eviction cannot delete the file between lookup and open.
+     */
+    synchronized InputStream open(ZipFile zip, ZipEntry entry) throws IOException {
+        return Files.newInputStream(get(zip, entry));
+    }
+
+    /**
+     * Stream over the cached copy of a media/ entry if it was extracted before, else null; opened
+     * under the cache lock like open(). A copy deleted behind the cache's back is forgotten.
+     */
+    synchronized InputStream openCached(String entryName) {
+        Path file = cached(entryName);
+        if (file == null) return null;
+        try {
+            return Files.newInputStream(file);
+        } catch (IOException e) {
+            forget(file.getFileName().toString());
+            return null;
+        }
+    }
+
+    /**
+     * Cached copy of a media/ entry if it was extracted before, else null. Entry names are content
+     * hashes, so the copy is valid for that entry in any archive. Only a hint: the file may be
+     * evicted once the lock is released, so readers use openCached().
+     */
+    synchronized Path cached(String entryName) {
+        try {
+            String name = fileName(entryName);
+            if (root == null || !entries.containsKey(name)) return null;
+            Path file = root.resolve(name);
+            return Files.isRegularFile(file) ? file : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Drops every cached file, so the next load extracts its media again (cold-load benchmarks).
+     */
+    synchronized void clear() {
+        if (root != null) {
+            for (String name : entries.keySet()) {
+                try {
+                    Files.deleteIfExists(root.resolve(name));
+                } catch (IOException ignored) {
+                    // Forgotten either way: a later get() re-extracts over it
+                }
+            }
+        }
+        entries.clear();
+        totalBytes = 0;
+    }
+
+    private void forget(String name) {
+        Long size = entries.remove(name);
+        if (size != null) totalBytes -= size;
+    }
+
+    // Oldest first; the file just handed out is kept even if it alone exceeds the limit
+    private void evict(String keep) {
+        Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Long> e = it.next();
+            if (e.getKey().equals(keep)) continue;
+            try {
+                Files.deleteIfExists(root.resolve(e.getKey()));
+            } catch (IOException ignored) {
+                // Still counted out: it is re-extracted on next use either way
+            }
+            totalBytes -= e.getValue();
+            it.remove();
+        }
+    }
+
+    private Path root() throws IOException {
+        if (root == null) {
+            Path dir = Files.createTempDirectory("subly-media-");
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> deleteRecursive(dir), "subly-media-cleanup"));
+            root = dir;
+        }
+        return root;
+    }
+
+    private static String fileName(String entryName) throws IOException {
+        String name = entryName.startsWith(ProjectArchiveIO.MEDIA_DIR)
+                ? entryName.substring(ProjectArchiveIO.MEDIA_DIR.length())
+                : entryName;
+        if (name.isEmpty() || name.contains("/") || name.contains("\\") || name.startsWith(".")) {
+            throw new IOException("Illegal entry: " + entryName);
+        }
+        return name;
+    }
+
+    private static void deleteRecursive(Path root) {
+        try (var stream = Files.walk(root)) {
+            stream.sorted(Comparator.reverseOrder())
+                    .forEach(p -> {
+                        try {
+                            Files.deleteIfExists(p);
+                        } catch (IOException ignored) {
+                        }
+                    });
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -1,309 +1,554 @@
 package com.app.subly.persistence;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.fasterxml.jackson.databind.node.TextNode;
+import com.app.subly.model.MediaRef;
+import com.app.subly.model.SublyProjectFile;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBuilder;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.io.InterruptedIOException;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.file.*;
-import java.security.DigestInputStream;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.UnaryOperator;
+import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipOutputStream;
 
 /**
  * Packs/unpacks a .subly archive (zip) containing:
- * project.json
+ * project.json (or project.smile, see SublyProjectFile.BINARY_SCHEMA_VERSION)
  * media/<hash>.<ext>
+ * Saving streams both straight into the zip; already-compressed images are stored, not deflated.
+ * Only fields marked {@link MediaRef} are treated as media: they are rewritten to media/ entries
+ * when the model is written, and resolved back while it is bound on load. Media is hashed on a
+ * worker pool while the model is serialized; entries are still written in model order.
  */
 final class ProjectArchiveIO {
 
     static final String JSON_ENTRY = "project.json";
+    static final String SMILE_ENTRY = "project.smile";
     static final String MEDIA_DIR = "media/";
+    private static final Object SAVE_CONTEXT = SaveContext.class;
+    private static final Object MEDIA_RESOLVER = MediaRefDeserializer.class;
     private static final Set<String> IMAGE_EXT = Set.of(".png", ".jpg", ".jpeg", ".gif", ".bmp", ".webp");
+    private static final Set<String> STORED_EXT = Set.of(".png", ".jpg", ".jpeg", ".gif", ".webp");
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+    private static final int HASH_BUFFER_SIZE = 256 * 1024;
+    private static final int MAX_INDEXED_MEDIA = 4096;
+    private static final HexFormat HEX = HexFormat.of();
 
+    private static final ExecutorService HASH_POOL = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()), r -> {
+                Thread t = new Thread(r, "subly-media-hash");
+                t.setDaemon(true);
+                return t;
+            });
+    // One direct buffer per hashing thread, reused across saves
+    private static final ThreadLocal<ByteBuffer> HASH_BUFFER =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(HASH_BUFFER_SIZE));
+
+    // Caller's configuration plus the @MediaRef (de)serializers
     private final ObjectMapper mapper;
+    private final ObjectMapper smileMapper;
+    private final MediaCache mediaCache;
 
-    ProjectArchiveIO(ObjectMapper mapper) {
-        this.mapper = mapper;
+    // path + size + mtime of an external image -> entry computed by an earlier save, so unchanged files are not
+    // re-hashed; least recently used first out once MAX_INDEXED_MEDIA is reached (written from the hash pool)
+    private final Map<MediaKey, MediaEntry> digestIndex = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<MediaKey, MediaEntry> eldest) {
+                    return size() > MAX_INDEXED_MEDIA;
+                }
+            });
+
+    ProjectArchiveIO(ObjectMapper mapper, MediaCache mediaCache) {
+        this.mediaCache = Objects.requireNonNull(mediaCache, "mediaCache");
+        SimpleModule mediaRefs = new SimpleModule("subly-media-refs")
+                .setSerializerModifier(new MediaRefSerializers())
+                .setDeserializerModifier(new MediaRefDeserializers());
+        this.mapper = mapper.copy().registerModule(mediaRefs);
+        this.smileMapper = this.mapper.copyWith(new SmileFactory());
     }
 
     void save(Object projectModel, Path targetArchive) throws IOException {
+        save(projectModel, targetArchive, ArchiveProgress.NONE);
+    }
+
+    /**
+     * Writes a complete archive to targetArchive and forces it to disk before returning.
+     * Media of a lazily opened project is read from its archive, so targetArchive must not
+     * be that archive: SublyProjectIO writes to a sibling temp file and swaps it in.
+     */
+    void save(Object projectModel, Path targetArchive, ArchiveProgress progress) throws IOException {
         Objects.requireNonNull(projectModel, "projectModel");
         Objects.requireNonNull(targetArchive, "targetArchive");
+        Objects.requireNonNull(progress, "progress");
 
-        Path tmpDir = Files.createTempDirectory("subly-pack-");
-        Path mediaDir = tmpDir.resolve(MEDIA_DIR);
-        Files.createDirectories(mediaDir);
+        boolean binary = projectModel instanceof SublyProjectFile p
+                && p.getSchemaVersion() != null
+                && p.getSchemaVersion() >= SublyProjectFile.BINARY_SCHEMA_VERSION;
+        SaveContext ctx = new SaveContext(progress);
+        try {
+            // Serializing queues each media reference for hashing; the names are filled in when the buffer is written
+            TokenBuffer model = bufferModel(projectModel, ctx);
+            awaitMedia(ctx);
+            progress.checkCancelled();
 
-        JsonNode root = mapper.valueToTree(projectModel);
+            try (FileChannel channel = FileChannel.open(targetArchive,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                 ZipOutputStream zos = new ZipOutputStream(
+                         new BufferedOutputStream(Channels.newOutputStream(channel), IO_BUFFER_SIZE))) {
+                writeModelEntry(zos, model, binary, ctx);
 
-        // cache originalAbsPath -> relative media/<hash>.<ext>
-        Map<String, String> relPathCache = new HashMap<>();
-        rewriteImagesForSave(root, mediaDir, relPathCache);
+                // Same content referenced from several paths is written once
+                Map<String, MediaEntry> unique = new LinkedHashMap<>();
+                for (MediaEntry media : ctx.media.values()) {
+                    unique.putIfAbsent(media.entryName(), media);
+                }
+                ctx.bytesTotal = unique.values().stream().mapToLong(MediaEntry::size).sum();
+                progress.update(0, ctx.bytesTotal);
+                for (MediaEntry media : unique.values()) {
+                    writeMediaEntry(zos, media, ctx);
+                }
 
-        Path jsonFile = tmpDir.resolve(JSON_ENTRY);
-        try (OutputStream out = Files.newOutputStream(jsonFile)) {
-            mapper.writerWithDefaultPrettyPrinter().writeValue(out, root);
+                zos.finish();
+                zos.flush();
+                channel.force(true);
+            }
+        } finally {
+            ctx.pending.values().forEach(f -> f.cancel(true));
+            closeAll(ctx.sources);
         }
-
-        zipDirectory(tmpDir, targetArchive);
-        deleteRecursive(tmpDir);
     }
 
-    <T> LoadedArchive<T> load(Path archiveFile, Class<T> type) throws IOException {
+    /**
+     * Eager counterpart of open(): the model gets the same archive references (see ProjectMedia),
+     * and every media entry it references is extracted into the shared MediaCache while the zip
+     * is open. References never point at cache files, which eviction may delete while the model
+     * still holds them; an evicted entry is simply extracted again on its next use.
+     */
+    <T> T load(Path archiveFile, Class<T> type) throws IOException {
         Objects.requireNonNull(archiveFile, "archiveFile");
         Objects.requireNonNull(type, "type");
-        Path extractRoot = Files.createTempDirectory("subly-unpack-");
-        boolean success = false;
-        try {
-            unzip(archiveFile, extractRoot);
-            Path json = extractRoot.resolve(JSON_ENTRY);
-            if (!Files.isRegularFile(json)) {
+        Path archive = archiveFile.toAbsolutePath();
+        try (ZipFile zip = new ZipFile(archive.toFile())) {
+            ZipEntry smile = zip.getEntry(SMILE_ENTRY);
+            ZipEntry json = smile != null ? smile : zip.getEntry(JSON_ENTRY);
+            if (json == null) {
                 throw new IOException("Missing " + JSON_ENTRY + " in archive: " + archiveFile);
             }
-            JsonNode root;
-            try (InputStream in = Files.newInputStream(json)) {
-                root = mapper.readTree(in);
-            }
-            rewriteMediaPathsForLoad(root, extractRoot);
-            T project = mapper.treeToValue(root, type);
-            success = true;
-            return new LoadedArchive<>(project, extractRoot);
-        } finally {
-            if (!success) {
-                deleteRecursive(extractRoot);
+            try (InputStream in = zip.getInputStream(json)) {
+                return reader(smile != null, type, v -> {
+                    ZipEntry entry = zip.getEntry(v);
+                    if (entry == null || entry.isDirectory()) return null;
+                    try {
+                        mediaCache.get(zip, entry);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return ProjectMedia.archiveRef(archive, v);
+                }).readValue(in);
+            } catch (JsonMappingException e) {
+                if (e.getCause() instanceof UncheckedIOException io) throw io.getCause();
+                throw e;
             }
         }
     }
 
-    LoadedArchive<Object> load(Path archiveFile) throws IOException {
+    Object load(Path archiveFile) throws IOException {
         return load(archiveFile, Object.class);
     }
 
-    record LoadedArchive<T>(T projectModel, Path extractionRoot) {
+    /**
+     * Lazy counterpart of load(): reads only project.json and points media/ references
+     * at their archive entries (see ProjectMedia); nothing is extracted.
+     */
+    <T> T open(Path archiveFile, Class<T> type) throws IOException {
+        return open(archiveFile, type, ArchiveProgress.NONE);
     }
 
-    /* ---------------- Rewrite helpers ---------------- */
-
-    // Convert absolute image paths to copied hashed relative paths in media/
-    private void rewriteImagesForSave(JsonNode node,
-                                      Path mediaDir,
-                                      Map<String, String> relCache) throws IOException {
-        if (node == null) return;
-        if (node.isObject()) {
-            ObjectNode obj = (ObjectNode) node;
-            Iterator<Map.Entry<String, JsonNode>> it = obj.fields();
-            List<Map.Entry<String, JsonNode>> fields = new ArrayList<>();
-            it.forEachRemaining(fields::add);
-            for (Map.Entry<String, JsonNode> e : fields) {
-                JsonNode child = e.getValue();
-                if (child.isTextual()) {
-                    String v = child.textValue();
-                    if (shouldProcessImage(v)) {
-                        Path src = toExistingPath(v);
-                        if (src != null) {
-                            String rel = relCache.computeIfAbsent(src.toString(), k -> {
-                                try {
-                                    return copyHashed(src, mediaDir);
-                                } catch (IOException ex) {
-                                    throw new UncheckedIOException(ex);
-                                }
-                            });
-                            obj.set(e.getKey(), TextNode.valueOf(rel));
-                            continue;
-                        }
-                    }
-                }
-                rewriteImagesForSave(child, mediaDir, relCache);
+    <T> T open(Path archiveFile, Class<T> type, ArchiveProgress progress) throws IOException {
+        Objects.requireNonNull(archiveFile, "archiveFile");
+        Objects.requireNonNull(type, "type");
+        Objects.requireNonNull(progress, "progress");
+        Path archive = archiveFile.toAbsolutePath();
+        try (ZipFile zip = new ZipFile(archive.toFile())) {
+            ZipEntry smile = zip.getEntry(SMILE_ENTRY);
+            ZipEntry json = smile != null ? smile : zip.getEntry(JSON_ENTRY);
+            if (json == null) {
+                throw new IOException("Missing " + JSON_ENTRY + " in archive: " + archiveFile);
             }
-        } else if (node.isArray()) {
-            ArrayNode arr = (ArrayNode) node;
-            for (int i = 0; i < arr.size(); i++) {
-                JsonNode child = arr.get(i);
-                if (child.isTextual()) {
-                    String v = child.textValue();
-                    if (shouldProcessImage(v)) {
-                        Path src = toExistingPath(v);
-                        if (src != null) {
-                            String rel = relCache.computeIfAbsent(src.toString(), k -> {
-                                try {
-                                    return copyHashed(src, mediaDir);
-                                } catch (IOException ex) {
-                                    throw new UncheckedIOException(ex);
-                                }
-                            });
-                            arr.set(i, TextNode.valueOf(rel));
-                            continue;
-                        }
-                    }
-                }
-                rewriteImagesForSave(child, mediaDir, relCache);
+            progress.update(0, 1);
+            T project;
+            try (InputStream in = zip.getInputStream(json)) {
+                project = reader(smile != null, type,
+                        v -> zip.getEntry(v) != null ? ProjectMedia.archiveRef(archive, v) : null)
+                        .readValue(in);
             }
+            progress.checkCancelled();
+            progress.update(1, 1);
+            return project;
         }
     }
 
-    // Convert relative media/ paths to absolute extracted file paths
-    private void rewriteMediaPathsForLoad(JsonNode node, Path extractRoot) {
-        if (node == null) return;
-        if (node.isObject()) {
-            ObjectNode obj = (ObjectNode) node;
-            Iterator<Map.Entry<String, JsonNode>> it = obj.fields();
-            List<Map.Entry<String, JsonNode>> fields = new ArrayList<>();
-            it.forEachRemaining(fields::add);
-            for (Map.Entry<String, JsonNode> e : fields) {
-                JsonNode child = e.getValue();
-                if (child.isTextual()) {
-                    String v = child.textValue();
-                    if (v != null && v.startsWith(MEDIA_DIR)) {
-                        Path file = extractRoot.resolve(v).normalize();
-                        if (Files.isRegularFile(file)) {
-                            obj.set(e.getKey(), TextNode.valueOf(file.toString()));
-                            continue;
-                        }
-                    }
+    /**
+     * Checks an archive without extracting it: the model entry binds to type, every media/
+     * reference it holds has an entry, and every entry's bytes match its CRC.
+     * Returns the problems found (empty when the archive is sound); unreadable zips throw.
+     */
+    List<String> validate(Path archiveFile, Class<?> type) throws IOException {
+        Objects.requireNonNull(archiveFile, "archiveFile");
+        Objects.requireNonNull(type, "type");
+        List<String> problems = new ArrayList<>();
+        try (ZipFile zip = new ZipFile(archiveFile.toFile())) {
+            ZipEntry smile = zip.getEntry(SMILE_ENTRY);
+            ZipEntry json = smile != null ? smile : zip.getEntry(JSON_ENTRY);
+            Set<String> referenced = new HashSet<>();
+            if (json == null) {
+                problems.add("Missing " + JSON_ENTRY);
+            } else {
+                try (InputStream in = zip.getInputStream(json)) {
+                    reader(smile != null, type, v -> {
+                        referenced.add(v);
+                        if (zip.getEntry(v) == null) problems.add("Missing media " + v);
+                        return null;
+                    }).readValue(in);
+                } catch (JsonProcessingException e) {
+                    problems.add("Unreadable " + json.getName() + ": " + e.getOriginalMessage());
                 }
-                rewriteMediaPathsForLoad(child, extractRoot);
             }
-        } else if (node.isArray()) {
-            ArrayNode arr = (ArrayNode) node;
-            for (int i = 0; i < arr.size(); i++) {
-                JsonNode child = arr.get(i);
-                if (child.isTextual()) {
-                    String v = child.textValue();
-                    if (v != null && v.startsWith(MEDIA_DIR)) {
-                        Path file = extractRoot.resolve(v).normalize();
-                        if (Files.isRegularFile(file)) {
-                            arr.set(i, TextNode.valueOf(file.toString()));
-                            continue;
-                        }
-                    }
+
+            byte[] buf = new byte[IO_BUFFER_SIZE];
+            for (Enumeration<? extends ZipEntry> it = zip.entries(); it.hasMoreElements(); ) {
+                ZipEntry entry = it.nextElement();
+                if (entry.isDirectory()) continue;
+                CRC32 crc = new CRC32();
+                try (InputStream in = zip.getInputStream(entry)) {
+                    int n;
+                    while ((n = in.read(buf)) != -1) crc.update(buf, 0, n);
+                }
+                if (entry.getCrc() >= 0 && crc.getValue() != entry.getCrc()) {
+                    problems.add("CRC mismatch in " + entry.getName());
+                }
+                if (entry.getName().startsWith(MEDIA_DIR) && !referenced.contains(entry.getName())) {
+                    problems.add("Unreferenced media " + entry.getName());
                 }
-                rewriteMediaPathsForLoad(child, extractRoot);
             }
         }
+        return problems;
     }
 
-    private boolean shouldProcessImage(String s) {
-        if (s == null || s.isBlank()) return false;
-        return isLikelyImagePath(s);
+    private TokenBuffer bufferModel(Object projectModel, SaveContext ctx) throws IOException {
+        TokenBuffer tokens = new TokenBuffer(mapper, false);
+        try {
+            mapper.writer()
+                    .withAttribute(SAVE_CONTEXT, ctx)
+                    .writeValue(tokens, projectModel);
+        } catch (JsonMappingException e) {
+            // Cancellation from inside a serializer arrives wrapped
+            if (e.getCause() instanceof CancellationException c) throw c;
+            throw e;
+        }
+        return tokens;
     }
 
-    private boolean isLikelyImagePath(String s) {
-        String lower = s.toLowerCase(Locale.ROOT);
-        for (String ext : IMAGE_EXT) {
-            if (lower.endsWith(ext)) return true;
+    // JSON stays the default so archives remain readable (and diffable); binary is opt-in per project
+    private void writeModelEntry(ZipOutputStream zos, TokenBuffer model, boolean binary, SaveContext ctx)
+            throws IOException {
+        zos.putNextEntry(new ZipEntry(binary ? SMILE_ENTRY : JSON_ENTRY));
+        ObjectWriter writer = (binary ? smileMapper.writer() : mapper.writerWithDefaultPrettyPrinter())
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try (JsonParser p = model.asParser(); JsonGenerator gen = writer.createGenerator(zos)) {
+            while (p.nextToken() != null) {
+                if (p.currentToken() == JsonToken.VALUE_EMBEDDED_OBJECT
+                        && p.getEmbeddedObject() instanceof PendingMedia pending) {
+                    MediaEntry media = ctx.media.get(pending.ref());
+                    gen.writeString(media != null ? media.entryName() : pending.ref());
+                } else {
+                    gen.copyCurrentEvent(p);
+                }
+            }
         }
-        return false;
+        zos.closeEntry();
     }
 
+    // Binds the model in a single streaming pass; @MediaRef values go through the resolver as they are read
+    private ObjectReader reader(boolean binary, Class<?> type, UnaryOperator<String> mediaResolver) {
+        return (binary ? smileMapper : mapper).readerFor(type)
+                .withAttribute(MEDIA_RESOLVER, mediaResolver);
+    }
+
+    /* ---------------- Media helpers ---------------- */
+
     private Path toExistingPath(String s) {
-        try {
-            Path p;
-            if (s.startsWith("file:/")) {
-                p = Paths.get(java.net.URI.create(s));
-            } else {
-                p = Paths.get(s);
+        Path p = ProjectMedia.toPath(s);
+        return p != null && Files.isRegularFile(p) ? p : null;
+    }
+
+    // Queues the media behind value in ctx.pending; false if value does not point at any media
+    private boolean ingest(String value, SaveContext ctx) throws IOException {
+        ctx.progress.checkCancelled();
+        if (value.isBlank()) return false;
+        if (ctx.pending.containsKey(value)) return true;
+        if (ProjectMedia.isArchiveRef(value)) {
+            MediaEntry media = describeArchivedMedia(value, ctx.sources);
+            if (media == null) return false;
+            ctx.pending.put(value, CompletableFuture.completedFuture(media));
+            return true;
+        }
+        Path src = toExistingPath(value);
+        if (src == null) return false;
+        Future<MediaEntry> media = ctx.pending.get(src.toString());
+        if (media == null) {
+            media = indexedMedia(src);
+            ctx.pending.put(src.toString(), media);
+        }
+        ctx.pending.put(value, media);
+        return true;
+    }
+
+    private Future<MediaEntry> indexedMedia(Path src) throws IOException {
+        BasicFileAttributes attrs = Files.readAttributes(src, BasicFileAttributes.class);
+        MediaKey key = new MediaKey(src.toAbsolutePath().normalize().toString(),
+                attrs.size(), attrs.lastModifiedTime().toMillis());
+        MediaEntry indexed = digestIndex.get(key);
+        if (indexed != null) return CompletableFuture.completedFuture(indexed);
+
+        return HASH_POOL.submit(() -> {
+            MediaEntry media = describeMedia(src);
+            if (media.size() == attrs.size()) digestIndex.put(key, media);
+            return media;
+        });
+    }
+
+    // Waits for the hashing queued by bufferModel(), in model order
+    private void awaitMedia(SaveContext ctx) throws IOException {
+        for (Map.Entry<String, Future<MediaEntry>> e : ctx.pending.entrySet()) {
+            ctx.progress.checkCancelled();
+            try {
+                ctx.media.put(e.getKey(), e.getValue().get());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while hashing media");
+            } catch (ExecutionException ex) {
+                if (ex.getCause() instanceof IOException io) throw io;
+                throw new IOException("Hash failed: " + e.getKey(), ex.getCause());
             }
-            return Files.isRegularFile(p) ? p : null;
-        } catch (Exception e) {
-            return null;
         }
     }
 
-    private String copyHashed(Path src, Path mediaDir) throws IOException {
-        String hash = sha256(src).substring(0, 32);
+    // Archived media is already content-addressed: reuse its entry name, size and CRC without re-hashing
+    private MediaEntry describeArchivedMedia(String ref, Map<Path, ZipFile> sources) throws IOException {
+        Path archive = ProjectMedia.archiveOf(ref);
+        if (archive == null || !Files.isRegularFile(archive)) return null;
+        String entryName = ProjectMedia.entryOf(ref);
+        ZipEntry entry = sourceArchive(archive, sources).getEntry(entryName);
+        if (entry == null || entry.getSize() < 0 || entry.getCrc() < 0) return null;
+        return new MediaEntry(ref, entryName, entry.getSize(), entry.getCrc(), STORED_EXT.contains(extension(entryName)));
+    }
+
+    // Hashes, checksums and sizes the source in a single read so the entry can be written straight into the zip
+    private MediaEntry describeMedia(Path src) throws IOException {
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("Hash failed: " + src, e);
+        }
+        CRC32 crc = new CRC32();
+        long size = 0;
+        ByteBuffer buf = HASH_BUFFER.get();
+        try (FileChannel in = FileChannel.open(src, StandardOpenOption.READ)) {
+            int n;
+            while ((n = in.read(buf.clear())) != -1) {
+                buf.flip();
+                crc.update(buf);
+                md.update(buf.rewind());
+                size += n;
+            }
+        }
+        String hash = HEX.formatHex(md.digest(), 0, 16);
         String ext = extension(src.getFileName().toString());
-        String fileName = hash + ext;
-        Path dest = mediaDir.resolve(fileName);
-        if (!Files.exists(dest)) {
-            Files.copy(src, dest, StandardCopyOption.REPLACE_EXISTING);
+        return new MediaEntry(src.toString(), MEDIA_DIR + hash + ext, size, crc.getValue(), STORED_EXT.contains(ext));
+    }
+
+    private void writeMediaEntry(ZipOutputStream zos, MediaEntry media, SaveContext ctx) throws IOException {
+        ZipEntry entry = new ZipEntry(media.entryName());
+        if (media.stored()) {
+            // Already-compressed formats gain nothing from deflate
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(media.size());
+            entry.setCompressedSize(media.size());
+            entry.setCrc(media.crc());
         }
-        return MEDIA_DIR + fileName;
+        zos.putNextEntry(entry);
+        try (InputStream in = openSource(media.sourceRef(), ctx.sources)) {
+            byte[] buf = new byte[IO_BUFFER_SIZE];
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                zos.write(buf, 0, n);
+                ctx.bytesDone += n;
+                ctx.progress.update(ctx.bytesDone, ctx.bytesTotal);
+                ctx.progress.checkCancelled();
+            }
+        }
+        zos.closeEntry();
     }
 
-    private String extension(String name) {
-        int i = name.lastIndexOf('.');
-        if (i >= 0) {
-            String ext = name.substring(i).toLowerCase(Locale.ROOT);
-            if (IMAGE_EXT.contains(ext)) return ext;
+    private InputStream openSource(String sourceRef, Map<Path, ZipFile> sources) throws IOException {
+        if (ProjectMedia.isArchiveRef(sourceRef)) {
+            ZipFile zip = sourceArchive(ProjectMedia.archiveOf(sourceRef), sources);
+            return zip.getInputStream(zip.getEntry(ProjectMedia.entryOf(sourceRef)));
         }
-        return ".img";
+        return Files.newInputStream(Paths.get(sourceRef));
     }
 
-    private String sha256(Path file) throws IOException {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            try (InputStream in = Files.newInputStream(file);
-                 DigestInputStream dis = new DigestInputStream(in, md)) {
-                byte[] buf = new byte[8192];
-                while (dis.read(buf) != -1) { /* digest */ }
+    private ZipFile sourceArchive(Path archive, Map<Path, ZipFile> sources) throws IOException {
+        ZipFile zip = sources.get(archive);
+        if (zip == null) {
+            zip = new ZipFile(archive.toFile());
+            sources.put(archive, zip);
+        }
+        return zip;
+    }
+
+    private void closeAll(Map<Path, ZipFile> sources) {
+        for (ZipFile zip : sources.values()) {
+            try {
+                zip.close();
+            } catch (IOException ignored) {
             }
-            byte[] d = md.digest();
-            StringBuilder sb = new StringBuilder(d.length * 2);
-            for (byte b : d) sb.append(String.format("%02x", b));
-            return sb.toString();
-        } catch (Exception e) {
-            throw new IOException("Hash failed: " + file, e);
         }
+        sources.clear();
     }
 
-    private void zipDirectory(Path dir, Path dest) throws IOException {
-        if (Files.exists(dest)) Files.delete(dest);
-        try (ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(dest))) {
-            Files.walk(dir).forEach(p -> {
-                if (Files.isDirectory(p)) return;
-                Path rel = dir.relativize(p);
-                try (InputStream in = Files.newInputStream(p)) {
-                    ZipEntry entry = new ZipEntry(rel.toString().replace('\\', '/'));
-                    zos.putNextEntry(entry);
-                    in.transferTo(zos);
-                    zos.closeEntry();
-                } catch (IOException e) {
-                    throw new UncheckedIOException(e);
+    // Swaps in MediaRefSerializer for @MediaRef properties; nothing else is looked at
+    private final class MediaRefSerializers extends BeanSerializerModifier {
+        @Override
+        public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+                                                         List<BeanPropertyWriter> beanProperties) {
+            for (BeanPropertyWriter writer : beanProperties) {
+                if (writer.getAnnotation(MediaRef.class) != null) {
+                    writer.assignSerializer(new MediaRefSerializer());
                 }
-            });
-        } catch (UncheckedIOException u) {
-            throw u.getCause();
+            }
+            return beanProperties;
         }
     }
 
-    private void unzip(Path archive, Path destDir) throws IOException {
-        try (ZipInputStream zis = new ZipInputStream(Files.newInputStream(archive))) {
-            ZipEntry e;
-            while ((e = zis.getNextEntry()) != null) {
-                Path out = destDir.resolve(e.getName()).normalize();
-                if (!out.startsWith(destDir))
-                    throw new IOException("Illegal entry: " + e.getName());
-                if (e.isDirectory()) {
-                    Files.createDirectories(out);
-                } else {
-                    Files.createDirectories(out.getParent());
-                    try (OutputStream o = Files.newOutputStream(out)) {
-                        zis.transferTo(o);
-                    }
-                }
+    /**
+     * Queues a media reference for hashing in the writer's SAVE_CONTEXT and leaves a PendingMedia
+     * placeholder that writeModelEntry() replaces with the media/ entry name. References that do
+     * not resolve to a file are written unchanged.
+     */
+    private final class MediaRefSerializer extends StdScalarSerializer<Object> {
+        MediaRefSerializer() {
+            super(Object.class);
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            String ref = value.toString();
+            if (provider.getAttribute(SAVE_CONTEXT) instanceof SaveContext ctx && ingest(ref, ctx)) {
+                gen.writeEmbeddedObject(new PendingMedia(ref));
+            } else {
+                gen.writeString(ref);
             }
         }
     }
 
-    private void deleteRecursive(Path root) throws IOException {
-        if (root == null || !Files.exists(root)) return;
-        try (var stream = Files.walk(root)) {
-            stream.sorted(Comparator.reverseOrder())
-                    .forEach(p -> {
-                        try {
-                            Files.deleteIfExists(p);
-                        } catch (IOException ignored) {
-                        }
-                    });
+    private static final class MediaRefDeserializers extends BeanDeserializerModifier {
+        @Override
+        public BeanDeserializerBuilder updateBuilder(DeserializationConfig config, BeanDescription beanDesc,
+                                                     BeanDeserializerBuilder builder) {
+            List<SettableBeanProperty> mediaProps = new ArrayList<>();
+            builder.getProperties().forEachRemaining(prop -> {
+                if (prop.getAnnotation(MediaRef.class) != null) mediaProps.add(prop);
+            });
+            for (SettableBeanProperty prop : mediaProps) {
+                builder.addOrReplaceProperty(prop.withValueDeserializer(new MediaRefDeserializer()), true);
+            }
+            return builder;
+        }
+    }
+
+    /**
+     * Resolves relative media/ references (written by save) through the reader's MEDIA_RESOLVER attribute.
+     * Unresolved values are kept.
+     */
+    private static final class MediaRefDeserializer extends StdScalarDeserializer<String> {
+        MediaRefDeserializer() {
+            super(String.class);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            String v = StringDeserializer.instance.deserialize(p, ctxt);
+            if (v == null || !v.startsWith(MEDIA_DIR)) return v;
+            Object resolver = ctxt.getAttribute(MEDIA_RESOLVER);
+            if (!(resolver instanceof UnaryOperator<?>)) return v;
+            String resolved = ((UnaryOperator<String>) resolver).apply(v);
+            return resolved != null ? resolved : v;
+        }
+    }
+
+    private record PendingMedia(String ref) {
+    }
+
+    private record MediaEntry(String sourceRef, String entryName, long size, long crc, boolean stored) {
+    }
+
+    private record MediaKey(String path, long size, long modified) {
+    }
+
+    // Per-save state: media found so far, source archives kept open for copying, progress sink
+    private static final class SaveContext {
+        // source reference -> media entry (relative media/<hash>.<ext> + digest info), in model order
+        final Map<String, Future<MediaEntry>> pending = new LinkedHashMap<>();
+        final Map<String, MediaEntry> media = new LinkedHashMap<>();
+        final Map<Path, ZipFile> sources = new HashMap<>();
+        final ArchiveProgress progress;
+        long bytesDone;
+        long bytesTotal;
+
+        SaveContext(ArchiveProgress progress) {
+            this.progress = progress;
         }
     }
+
+    private String extension(String name) {
+        int i = name.lastIndexOf('.');
+        if (i >= 0) {
+            String ext = name.substring(i).toLowerCase(Locale.ROOT);
+            if (IMAGE_EXT.contains(ext)) return ext;
+        }
+        return ".img";
+    }
 }
\ No newline at end of file
@@ -16,6 +16,10 @@ public final class ProjectBuilders {
     private ProjectBuilders() {
     }
 
+    /**
+     * Builds a detached snapshot of the session: chapters, subtitles and settings are
+     * copied, so the result can be saved on a background thread while editing continues.
+     */
     public static SublyProjectFile fromUi(String fileName,
                                           SublyProjectSession session) {
 
@@ -23,8 +27,9 @@ public final class ProjectBuilders {
         project.setFileName(stripExt(fileName));
 
         if (session != null) {
+            project.setSchemaVersion(session.getSchemaVersion());
             SublySettings settings = session.getSettings();
-            if (settings != null) project.setSettings(settings);
+            if (settings != null) project.setSettings(copyOf(settings));
         }
 
         List<Chapter> chapterList = session != null ? session.getEffectiveChapters() : null;
@@ -35,9 +40,12 @@ public final class ProjectBuilders {
                 copy.setId(source.getId());
                 copy.setIndex(source.getIndex());
                 copy.setTitle(source.getTitle());
-                List<Subtitle> subs = new ArrayList<>();
-                if (source.getSubtitles() != null) subs.addAll(source.getSubtitles());
-                copy.setSubtitles(subs);
+                List<Subtitle> subs = copy.getSubtitles();
+                if (source.getSubtitles() != null) {
+                    for (Subtitle s : source.getSubtitles()) {
+                        if (s != null) subs.add(new Subtitle(s.getId(), s.getPrimaryText(), s.getSecondaryText()));
+                    }
+                }
                 chapters.add(copy);
             }
         }
@@ -55,6 +63,20 @@ public final class ProjectBuilders {
         return project;
     }
 
+    private static SublySettings copyOf(SublySettings s) {
+        return new SublySettings(
+                s.getProjectorImageUri(),
+                s.getBackgroundType(),
+                s.getProjectorColor(),
+                s.getSubtitleFontFamily(),
+                s.getSubtitleColor(),
+                s.getSubtitleFontSize(),
+                s.getFontWeight(),
+                s.getSubtitleBorderWeight(),
+                s.getSubtitleBorderColor()
+        );
+    }
+
     private static String stripExt(String n) {
         if (n == null) return null;
         int i = n.lastIndexOf('.');
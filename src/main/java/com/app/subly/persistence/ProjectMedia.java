@@ -0,0 +1,99 @@
+package com.app.subly.persistence;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Resolves media references found in a project model to readable streams.
+ * A reference is either a plain path, a file: URI, or an archive reference
+ * (jar:file:///.../project.subly!/media/<hash>.<ext>) produced by open() and load().
+ * Archive entries are extracted into the shared MediaCache the first time an image
+ * is shown; showing it again (or reopening the project) reads the cached copy without
+ * opening the zip. The zip is only open while an entry is extracted, so the archive
+ * is never held open (and can be overwritten by the next save).
+ */
+public final class ProjectMedia {
+
+    private static final String ARCHIVE_SCHEME = "jar:";
+    private static final String ENTRY_SEPARATOR = "!/";
+
+    private ProjectMedia() {
+    }
+
+    public static String archiveRef(Path archive, String entryName) {
+        return ARCHIVE_SCHEME + archive.toAbsolutePath().toUri() + ENTRY_SEPARATOR + entryName;
+    }
+
+    public static boolean isArchiveRef(String ref) {
+        return ref != null && ref.startsWith(ARCHIVE_SCHEME) && ref.contains(ENTRY_SEPARATOR);
+    }
+
+    /**
+     * Archive file behind an archive reference, or null for other references.
+     */
+    public static Path archiveOf(String ref) {
+        if (!isArchiveRef(ref)) return null;
+        try {
+            String fileUri = ref.substring(ARCHIVE_SCHEME.length(), ref.lastIndexOf(ENTRY_SEPARATOR));
+            return Paths.get(URI.create(fileUri));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Entry name (media/<hash>.<ext>) behind an archive reference, or null for other references.
+     */
+    public static String entryOf(String ref) {
+        if (!isArchiveRef(ref)) return null;
+        return ref.substring(ref.lastIndexOf(ENTRY_SEPARATOR) + ENTRY_SEPARATOR.length());
+    }
+
+    public static boolean exists(String ref) {
+        if (ref == null || ref.isBlank()) return false;
+        if (isArchiveRef(ref)) {
+            if (SublyProjectIO.MEDIA_CACHE.cached(entryOf(ref)) != null) return true;
+            Path archive = archiveOf(ref);
+            if (archive == null || !Files.isRegularFile(archive)) return false;
+            try (ZipFile zip = new ZipFile(archive.toFile())) {
+                return zip.getEntry(entryOf(ref)) != null;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+        Path p = toPath(ref);
+        return p != null && Files.isRegularFile(p);
+    }
+
+    public static InputStream open(String ref) throws IOException {
+        if (ref == null || ref.isBlank()) throw new IOException("Empty media reference");
+        if (isArchiveRef(ref)) {
+            InputStream cached = SublyProjectIO.MEDIA_CACHE.openCached(entryOf(ref));
+            if (cached != null) return cached;
+            Path archive = archiveOf(ref);
+            if (archive == null) throw new IOException("Invalid media reference: " + ref);
+            try (ZipFile zip = new ZipFile(archive.toFile())) {
+                ZipEntry entry = zip.getEntry(entryOf(ref));
+                if (entry == null) throw new IOException("Missing media " + entryOf(ref) + " in archive: " + archive);
+                return SublyProjectIO.MEDIA_CACHE.open(zip, entry);
+            }
+        }
+        Path p = toPath(ref);
+        if (p == null) throw new IOException("Invalid media reference: " + ref);
+        return Files.newInputStream(p);
+    }
+
+    static Path toPath(String ref) {
+        try {
+            return ref.startsWith("file:/") ? Paths.get(URI.create(ref)) : Paths.get(ref);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
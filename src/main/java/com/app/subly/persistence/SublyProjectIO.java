@@ -4,11 +4,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.Map;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Public static API preserved for existing callers (ProjectFileManager).
@@ -16,14 +15,18 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public final class SublyProjectIO {
 
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String BACKUP_SUFFIX = ".bak";
+
     private static final ObjectMapper MAPPER;
+    static final MediaCache MEDIA_CACHE;
     private static final ProjectArchiveIO ARCHIVER;
-    private static final Map<Path, Path> EXTRACTIONS = new ConcurrentHashMap<>();
 
     static {
         MAPPER = new ObjectMapper()
                 .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
-        ARCHIVER = new ProjectArchiveIO(MAPPER);
+        MEDIA_CACHE = new MediaCache(MediaCache.DEFAULT_MAX_BYTES);
+        ARCHIVER = new ProjectArchiveIO(MAPPER, MEDIA_CACHE);
     }
 
     private SublyProjectIO() {
@@ -33,10 +36,62 @@ public final class SublyProjectIO {
      * Saves project as archive (.subly).
      */
     public static void save(Object projectModel, Path targetFile) throws IOException {
+        save(projectModel, targetFile, ArchiveProgress.NONE);
+    }
+
+    /**
+     * Saves project as archive (.subly), reporting media bytes written to the given progress.
+     * Safe to call off the FX thread as long as the model is a snapshot (see ProjectBuilders.fromUi).
+     * The archive is written and fsynced as a sibling temp file, then atomically moved over the
+     * target; the previous archive is kept as <name>.bak. A crash at any point leaves the old
+     * archive (as the target or its .bak) or the new one intact.
+     */
+    public static void save(Object projectModel, Path targetFile, ArchiveProgress progress) throws IOException {
         Objects.requireNonNull(projectModel, "projectModel");
         Objects.requireNonNull(targetFile, "targetFile");
-        ensureParent(targetFile);
-        ARCHIVER.save(projectModel, targetFile);
+        Path target = targetFile.toAbsolutePath();
+        ensureParent(target);
+        Path tmp = Files.createTempFile(target.getParent(), "." + target.getFileName(), TEMP_SUFFIX);
+        try {
+            ARCHIVER.save(projectModel, tmp, progress);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        commit(tmp, target);
+    }
+
+    public static Path backupOf(Path file) {
+        return file.resolveSibling(file.getFileName() + BACKUP_SUFFIX);
+    }
+
+    // Swap a fully written temp archive in; the old archive becomes the .bak without copying its bytes
+    private static void commit(Path tmp, Path target) throws IOException {
+        if (Files.exists(target)) {
+            Path backup = backupOf(target);
+            Files.deleteIfExists(backup);
+            try {
+                // Hard link keeps the target in place until the atomic move below replaces it
+                Files.createLink(backup, target);
+            } catch (IOException | UnsupportedOperationException e) {
+                Files.move(target, backup, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        try {
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        syncDirectory(target.getParent());
+    }
+
+    // Persist the rename itself; not supported on every platform (e.g. Windows), where it is skipped
+    private static void syncDirectory(Path dir) {
+        if (dir == null) return;
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException | RuntimeException ignored) {
+        }
     }
 
     /**
@@ -54,32 +109,65 @@ public final class SublyProjectIO {
             throw new IOException("File not found: " + file);
         }
         if (isZip(file)) {
-            var loaded = ARCHIVER.load(file, type);
-            EXTRACTIONS.put(file.toAbsolutePath(), loaded.extractionRoot());
-            return loaded.projectModel();
+            return ARCHIVER.load(file, type);
         } else {
             return MAPPER.readValue(Files.readAllBytes(file), type);
         }
     }
 
     /**
-     * Optional: remove extracted temp directory for a loaded archive.
+     * Opens a project without extracting the archive: only project.json is read,
+     * media references point into the archive and are streamed on demand through
+     * ProjectMedia when an image is displayed. Legacy plain JSON is read directly.
      */
-    public static void cleanupExtraction(Path archiveFile) throws IOException {
-        Path root = EXTRACTIONS.remove(archiveFile.toAbsolutePath());
-        if (root != null && Files.exists(root)) {
-            try (var walk = Files.walk(root)) {
-                walk.sorted(java.util.Comparator.reverseOrder())
-                        .forEach(p -> {
-                            try {
-                                Files.deleteIfExists(p);
-                            } catch (IOException ignored) {
-                            }
-                        });
-            }
+    public static <T> T open(Path file, Class<T> type) throws IOException {
+        return open(file, type, ArchiveProgress.NONE);
+    }
+
+    public static <T> T open(Path file, Class<T> type, ArchiveProgress progress) throws IOException {
+        Objects.requireNonNull(file, "file");
+        Objects.requireNonNull(type, "type");
+        if (!Files.isRegularFile(file)) {
+            throw new IOException("File not found: " + file);
+        }
+        if (isZip(file)) {
+            return ARCHIVER.open(file, type, progress);
+        } else {
+            return MAPPER.readValue(Files.readAllBytes(file), type);
         }
     }
 
+    /**
+     * Checks an archive (.subly) without extracting it; see ProjectArchiveIO.validate.
+     * Returns a description of each problem found, empty when the archive is sound.
+     */
+    public static List<String> validate(Path file, Class<?> type) throws IOException {
+        Objects.requireNonNull(file, "file");
+        Objects.requireNonNull(type, "type");
+        if (!Files.isRegularFile(file)) {
+            throw new IOException("File not found: " + file);
+        }
+        if (!isZip(file)) {
+            return List.of("Not a .subly archive (plain JSON project)");
+        }
+        return ARCHIVER.validate(file, type);
+    }
+
+    /**
+     * Empties the shared media cache, so the next load extracts all media again.
+     */
+    public static void clearMediaCache() {
+        MEDIA_CACHE.clear();
+    }
+
+    /**
+     * No-op kept for existing callers: loaded media lives in a shared, size-bounded cache
+     * that is removed on exit, not in a directory per archive.
+     */
+    @Deprecated
+    public static void cleanupExtraction(Path archiveFile) {
+    }
+
     private static void ensureParent(Path target) throws IOException {
         Path parent = target.toAbsolutePath().getParent();
         if (parent != null) Files.createDirectories(parent);
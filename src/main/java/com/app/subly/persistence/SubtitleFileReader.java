@@ -0,0 +1,164 @@
+package com.app.subly.persistence;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Streams subtitle files (SRT, WebVTT, TSV) line by line into a Sink, so files of any size
+ * are read without holding them in memory.
+ * <ul>
+ * <li>SRT/VTT: each cue's text (after its timing line) becomes one subtitle; markup tags are
+ * dropped and a multi-line cue keeps its line breaks, written as the model's two-character {@code \n}
+ * escape (as the table editor stores them). VTT header, NOTE and STYLE blocks are skipped.</li>
+ * <li>TSV: one subtitle per line, primary text in the first column and secondary in the second.</li>
+ * </ul>
+ * In every format a subtitle (or TSV line) of the form "# Title" is a chapter marker.
+ */
+public final class SubtitleFileReader {
+
+    public enum Format {
+        SRT, VTT, TSV;
+
+        public static Format of(Path file) {
+            String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".srt")) return SRT;
+            if (name.endsWith(".vtt")) return VTT;
+            if (name.endsWith(".tsv") || name.endsWith(".tab")) return TSV;
+            return null;
+        }
+    }
+
+    public interface Sink {
+        void chapter(String title);
+
+        void subtitle(String primary, String secondary);
+    }
+
+    private static final String CHAPTER_MARKER = "# ";
+    private static final String TIMING_ARROW = "-->";
+    private static final String LINE_BREAK = "\\n";
+
+    private SubtitleFileReader() {
+    }
+
+    public static boolean isSupported(Path file) {
+        return Format.of(file) != null;
+    }
+
+    public static void read(Path file, Sink sink) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            read(in, formatOf(file), sink);
+        }
+    }
+
+    /**
+     * Reads UTF-8 text from in (a leading BOM is ignored); in is not closed.
+     */
+    public static void read(InputStream in, Format format, Sink sink) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        if (format == Format.TSV) {
+            readTsv(reader, sink);
+        } else {
+            readCues(reader, sink);
+        }
+    }
+
+    private static Format formatOf(Path file) throws IOException {
+        Format format = Format.of(file);
+        if (format == null) throw new IOException("Unsupported subtitle file: " + file.getFileName());
+        return format;
+    }
+
+    private static void readTsv(BufferedReader reader, Sink sink) throws IOException {
+        String line;
+        boolean first = true;
+        while ((line = reader.readLine()) != null) {
+            if (first) {
+                line = stripBom(line);
+                first = false;
+            }
+            if (line.isBlank()) continue;
+            if (line.startsWith(CHAPTER_MARKER)) {
+                sink.chapter(line.substring(CHAPTER_MARKER.length()).strip());
+                continue;
+            }
+            int tab = line.indexOf('\t');
+            String primary = tab >= 0 ? line.substring(0, tab) : line;
+            String secondary = "";
+            if (tab >= 0) {
+                int next = line.indexOf('\t', tab + 1);
+                secondary = next >= 0 ? line.substring(tab + 1, next) : line.substring(tab + 1);
+            }
+            if (primary.isBlank() && secondary.isBlank()) continue;
+            sink.subtitle(primary.strip(), secondary.strip());
+        }
+    }
+
+    // SRT and VTT share the block layout: [identifier] timing line, then text up to a blank line
+    private static void readCues(BufferedReader reader, Sink sink) throws IOException {
+        StringBuilder text = new StringBuilder();
+        boolean inCue = false;
+        boolean first = true;
+        String line;
+        while (true) {
+            line = reader.readLine();
+            if (line != null && first) {
+                line = stripBom(line);
+                first = false;
+            }
+            if (line == null || line.isBlank()) {
+                if (inCue) emit(text, sink);
+                text.setLength(0);
+                inCue = false;
+                if (line == null) break;
+            } else if (!inCue) {
+                inCue = line.contains(TIMING_ARROW);
+            } else {
+                String clean = stripMarkup(line).strip();
+                if (clean.isEmpty()) continue;
+                if (!text.isEmpty()) text.append(LINE_BREAK);
+                text.append(clean);
+            }
+        }
+    }
+
+    private static void emit(StringBuilder text, Sink sink) {
+        if (text.isEmpty()) return;
+        String value = text.toString();
+        if (value.startsWith(CHAPTER_MARKER) && !value.contains(LINE_BREAK)) {
+            sink.chapter(value.substring(CHAPTER_MARKER.length()).strip());
+        } else {
+            sink.subtitle(value, "");
+        }
+    }
+
+    // Drops <i>, <b>, <c.class>, <v Speaker>, timestamps etc. and decodes the common VTT entities
+    private static String stripMarkup(String line) {
+        if (line.indexOf('<') < 0 && line.indexOf('&') < 0) return line;
+        StringBuilder sb = new StringBuilder(line.length());
+        boolean inTag = false;
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (inTag) {
+                if (ch == '>') inTag = false;
+            } else if (ch == '<') {
+                inTag = true;
+            } else {
+                sb.append(ch);
+            }
+        }
+        String out = sb.toString();
+        if (out.indexOf('&') < 0) return out;
+        return out.replace("&lt;", "<").replace("&gt;", ">").replace("&nbsp;", " ").replace("&amp;", "&");
+    }
+
+    private static String stripBom(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+}
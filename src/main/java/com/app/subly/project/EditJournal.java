@@ -0,0 +1,531 @@
+package com.app.subly.project;
+
+import com.app.subly.model.Chapter;
+import com.app.subly.model.SublyProjectFile;
+import com.app.subly.model.SublySettings;
+import com.app.subly.model.Subtitle;
+import com.app.subly.model.SubtitleNormalizer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.util.Duration;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Append-only autosave journal of subtitle/chapter edits made since the last save.
+ * <p>
+ * Edits are noted on the FX thread (session dirty listener, EditHistory pushes via markChanged()),
+ * and every few seconds the touched chapters are captured as plain strings and handed to a writer
+ * thread. Each captured row carries a key tied to its Subtitle object, and the writer diffs by
+ * those keys against what it last journaled: it appends one JSON line per changed chapter holding
+ * only the inserted, removed and edited rows, so a typing edit or a row inserted near the top
+ * costs a single short line. On the next start, {@link #findRecovery(Path)} replays the lines on
+ * top of the last saved .subly.
+ * <p>
+ * Line format: {"t":"base",...} header, then "order" (chapter ids), "chapter" (id, title, size,
+ * an optional splice [from, removed count, [[primary, secondary], ...]] and the edited rows as
+ * [index, primary, secondary], indexed after the splice) and "settings" records.
+ */
+public class EditJournal {
+
+    private static final System.Logger LOG = System.getLogger(EditJournal.class.getName());
+    private static final Duration FLUSH_INTERVAL = Duration.seconds(5);
+    private static final long WRITER_IDLE_SECONDS = 1;
+    private static final String JOURNAL_EXT = ".journal";
+    private static final String UNTITLED_KEY = "untitled";
+
+    private final Path dir;
+    private final ObjectMapper mapper = new ObjectMapper()
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+    // Not a daemon, so an append or delete queued right before exit still completes; the idle
+    // thread times out, so it never holds the exit up once the queue is empty
+    private final ThreadPoolExecutor writer = new ThreadPoolExecutor(1, 1,
+            WRITER_IDLE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            r -> new Thread(r, "subly-journal"));
+    // Created on attach(), so the journal itself needs no FX toolkit
+    private Timeline ticker;
+
+    // FX thread state
+    private SublyProjectSession session;
+    private Function<Chapter, List<Subtitle>> liveRows = Chapter::getSubtitles;
+    private final Set<UUID> touchedChapters = new HashSet<>();
+    private boolean pending;
+    // Keys of the rows last captured per chapter; a row keeps its key for as long as it stays in the chapter
+    private final Map<UUID, IdentityHashMap<Subtitle, Long>> rowKeys = new HashMap<>();
+    private long nextRowKey;
+
+    // writer thread state: what the journal file currently reflects
+    private Path file;
+    private final Map<UUID, ChapterState> journaled = new HashMap<>();
+    private List<UUID> journaledOrder = List.of();
+    private JsonNode journaledSettings;
+
+    public EditJournal(Path dir) {
+        this.dir = dir;
+        writer.allowCoreThreadTimeOut(true);
+    }
+
+    public static Path defaultDirectory() {
+        return Paths.get(System.getProperty("user.home"), ".subly", "journal");
+    }
+
+    /**
+     * Starts journaling the given session. liveRows returns the rows currently shown for a
+     * chapter (the table items for the selected one, which are only synced back on switch).
+     */
+    public void attach(SublyProjectSession session, Function<Chapter, List<Subtitle>> liveRows) {
+        bind(session, liveRows);
+        if (ticker == null) {
+            ticker = new Timeline(new KeyFrame(FLUSH_INTERVAL, e -> flush()));
+            ticker.setCycleCount(Timeline.INDEFINITE);
+        }
+        ticker.play();
+    }
+
+    // attach() without the periodic flush; tests call flush() themselves
+    void bind(SublyProjectSession session, Function<Chapter, List<Subtitle>> liveRows) {
+        this.session = session;
+        if (liveRows != null) this.liveRows = liveRows;
+        session.setDirtyListener(dirty -> {
+            if (dirty) markChanged();
+        });
+    }
+
+    /**
+     * Notes an edit in the selected chapter. Cheap; the actual capture happens on the next tick.
+     */
+    public void markChanged() {
+        if (session == null) return;
+        Chapter selected = session.getSelectedChapter();
+        if (selected != null && selected.getId() != null) touchedChapters.add(selected.getId());
+        pending = true;
+    }
+
+    /**
+     * Starts a fresh journal on top of a saved (or opened) project. baseline is the state the
+     * archive holds, or null to take the session as it is now; the live session is then
+     * re-captured so edits made while a background save was running stay journaled.
+     */
+    public void reset(File projectFile, SublyProjectFile baseline) {
+        Map<UUID, ChapterState> base = new HashMap<>();
+        List<UUID> order = new ArrayList<>();
+        JsonNode settings;
+        if (baseline != null) {
+            if (baseline.getChapters() != null) {
+                Map<UUID, Chapter> live = new HashMap<>();
+                if (session != null) {
+                    for (Chapter c : session.getEffectiveChapters()) {
+                        if (c.getId() != null) live.put(c.getId(), c);
+                    }
+                }
+                for (Chapter c : baseline.getChapters()) {
+                    // ids given now match the ones the session assigns to the same chapters
+                    c.ensureId();
+                    base.put(c.getId(), ChapterState.of(c.getTitle(), baselineKeys(live.get(c.getId()), c), c.getSubtitles()));
+                    order.add(c.getId());
+                }
+            }
+            settings = baseline.getSettings() != null ? mapper.valueToTree(baseline.getSettings()) : null;
+        } else {
+            // New or untitled project: what the session holds now is the baseline
+            if (session != null) {
+                for (Chapter c : session.getEffectiveChapters()) {
+                    if (c.getId() == null) continue;
+                    base.put(c.getId(), capture(c));
+                    order.add(c.getId());
+                }
+            }
+            settings = session != null && session.getSettings() != null
+                    ? mapper.valueToTree(session.getSettings()) : null;
+        }
+        Path base0 = projectFile != null ? projectFile.toPath().toAbsolutePath() : null;
+        writer.execute(() -> startFile(base0, base, order, settings));
+        markAllChanged();
+    }
+
+    /**
+     * Deletes the journal (clean exit or discarded changes). The delete is queued behind any pending
+     * append and runs on the writer thread, which finishes it even when the app exits right away.
+     */
+    public void discard() {
+        if (ticker != null) ticker.stop();
+        touchedChapters.clear();
+        pending = false;
+        writer.execute(this::deleteFile);
+    }
+
+    /**
+     * Queues every chapter for the next capture (after a reset or a recovery).
+     */
+    public void markAllChanged() {
+        if (session == null) return;
+        for (Chapter c : session.getEffectiveChapters()) {
+            if (c.getId() != null) touchedChapters.add(c.getId());
+        }
+        pending = true;
+    }
+
+    /* ---------------- FX thread: capture ---------------- */
+
+    void flush() {
+        if (!pending || session == null) return;
+        pending = false;
+        List<UUID> order = new ArrayList<>();
+        Map<UUID, ChapterState> changed = new LinkedHashMap<>();
+        for (Chapter c : session.getEffectiveChapters()) {
+            if (c.getId() == null) continue;
+            order.add(c.getId());
+            if (touchedChapters.contains(c.getId())) {
+                changed.put(c.getId(), capture(c));
+            }
+        }
+        touchedChapters.clear();
+        rowKeys.keySet().retainAll(order);
+        JsonNode settings = session.getSettings() != null ? mapper.valueToTree(session.getSettings()) : null;
+        writer.execute(() -> append(order, changed, settings));
+    }
+
+    private ChapterState capture(Chapter c) {
+        List<Subtitle> rows = liveRows.apply(c);
+        return ChapterState.of(c.getTitle(), keysOf(c.getId(), rows), rows);
+    }
+
+    // Reuses the keys handed out at the last capture, so the writer can tell moved rows from edited ones
+    private long[] keysOf(UUID chapterId, List<Subtitle> rows) {
+        IdentityHashMap<Subtitle, Long> previous = rowKeys.getOrDefault(chapterId, new IdentityHashMap<>());
+        IdentityHashMap<Subtitle, Long> current = new IdentityHashMap<>();
+        int n = rows == null ? 0 : rows.size();
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            Subtitle row = rows.get(i);
+            Long key = row != null ? previous.get(row) : null;
+            if (key == null) key = nextRowKey++;
+            if (row != null) current.put(row, key);
+            keys[i] = key;
+        }
+        rowKeys.put(chapterId, current);
+        return keys;
+    }
+
+    // The baseline was written from the live rows in the same order, so position pairs each saved
+    // row with its live row; a row edited meanwhile simply diffs as changed on the next capture
+    private long[] baselineKeys(Chapter live, Chapter saved) {
+        long[] liveKeys = live != null ? keysOf(live.getId(), liveRows.apply(live)) : new long[0];
+        int n = saved.getSubtitles() == null ? 0 : saved.getSubtitles().size();
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) keys[i] = i < liveKeys.length ? liveKeys[i] : nextRowKey++;
+        return keys;
+    }
+
+    // Waits for the writes queued so far, e.g. before a test reads the journal back
+    void awaitWriter() throws Exception {
+        writer.submit(() -> {
+        }).get(5, TimeUnit.SECONDS);
+    }
+
+    /* ---------------- Writer thread ---------------- */
+
+    private void startFile(Path baseProject, Map<UUID, ChapterState> base, List<UUID> order, JsonNode settings) {
+        deleteFile();
+        journaled.clear();
+        journaled.putAll(base);
+        journaledOrder = order;
+        journaledSettings = settings;
+        try {
+            Files.createDirectories(dir);
+            file = dir.resolve(keyOf(baseProject) + JOURNAL_EXT);
+            ObjectNode header = mapper.createObjectNode();
+            header.put("t", "base");
+            header.put("project", baseProject != null ? baseProject.toString() : null);
+            header.put("created", System.currentTimeMillis());
+            Files.writeString(file, mapper.writeValueAsString(header) + "\n", StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOG.log(System.Logger.Level.WARNING, "Cannot start edit journal in " + dir, e);
+            file = null;
+        }
+    }
+
+    private void append(List<UUID> order, Map<UUID, ChapterState> changed, JsonNode settings) {
+        if (file == null) return;
+        try {
+            StringBuilder out = new StringBuilder();
+            if (!order.equals(journaledOrder)) {
+                ObjectNode rec = mapper.createObjectNode();
+                rec.put("t", "order");
+                ArrayNode ids = rec.putArray("ids");
+                order.forEach(id -> ids.add(id.toString()));
+                out.append(mapper.writeValueAsString(rec)).append('\n');
+                journaledOrder = order;
+            }
+            for (Map.Entry<UUID, ChapterState> e : changed.entrySet()) {
+                ObjectNode rec = chapterRecord(e.getKey(), journaled.get(e.getKey()), e.getValue());
+                if (rec == null) continue;
+                out.append(mapper.writeValueAsString(rec)).append('\n');
+                journaled.put(e.getKey(), e.getValue());
+            }
+            if (settings != null && !settings.equals(journaledSettings)) {
+                ObjectNode rec = mapper.createObjectNode();
+                rec.put("t", "settings");
+                rec.set("settings", settings);
+                out.append(mapper.writeValueAsString(rec)).append('\n');
+                journaledSettings = settings;
+            }
+            if (out.isEmpty()) return;
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ch.write(ByteBuffer.wrap(out.toString().getBytes(StandardCharsets.UTF_8)));
+                ch.force(false);
+            }
+        } catch (IOException e) {
+            LOG.log(System.Logger.Level.WARNING, "Edit journal append failed", e);
+        }
+    }
+
+    // Only rows inserted, removed or edited since the last journaled state; null when nothing changed.
+    // Rows are matched by key: the keys shared at both ends are kept in place and the span between
+    // them becomes one splice, so an insert or delete shifts no other row into the record.
+    private ObjectNode chapterRecord(UUID id, ChapterState before, ChapterState now) {
+        ObjectNode rec = mapper.createObjectNode();
+        rec.put("t", "chapter");
+        rec.put("id", id.toString());
+        rec.put("title", now.title());
+        rec.put("size", now.size());
+        int nowSize = now.size();
+        int beforeSize = before != null ? before.size() : 0;
+        int head = 0;
+        int tail = 0;
+        if (before != null) {
+            while (head < beforeSize && head < nowSize && before.keys()[head] == now.keys()[head]) head++;
+            while (tail < beforeSize - head && tail < nowSize - head
+                    && before.keys()[beforeSize - 1 - tail] == now.keys()[nowSize - 1 - tail]) tail++;
+            if (head + tail < beforeSize || head + tail < nowSize) {
+                ArrayNode splice = rec.putArray("splice");
+                splice.add(head);
+                splice.add(beforeSize - head - tail);
+                ArrayNode inserted = splice.addArray();
+                for (int i = head; i < nowSize - tail; i++) {
+                    inserted.addArray().add(now.primary()[i]).add(now.secondary()[i]);
+                }
+            }
+        }
+        // A chapter new to the journal lists every row in place
+        ArrayNode rows = rec.putArray("rows");
+        for (int i = 0; i < nowSize; i++) {
+            boolean inSplice = i >= head && i < nowSize - tail;
+            if (before != null && inSplice) continue;
+            int was = i < head ? i : i - nowSize + beforeSize;
+            boolean same = before != null
+                    && Objects.equals(before.primary()[was], now.primary()[i])
+                    && Objects.equals(before.secondary()[was], now.secondary()[i]);
+            if (same) continue;
+            ArrayNode row = rows.addArray();
+            row.add(i);
+            row.add(now.primary()[i]);
+            row.add(now.secondary()[i]);
+        }
+        boolean unchanged = before != null && rows.isEmpty() && !rec.has("splice")
+                && Objects.equals(before.title(), now.title());
+        return unchanged ? null : rec;
+    }
+
+    private void deleteFile() {
+        if (file == null) return;
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.log(System.Logger.Level.WARNING, "Cannot delete edit journal " + file, e);
+        }
+        file = null;
+    }
+
+    private static String keyOf(Path baseProject) {
+        if (baseProject == null) return UNTITLED_KEY;
+        return UUID.nameUUIDFromBytes(baseProject.toString().getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    // Rows in the form a save writes them (trimmed, no trailing blank rows), so the live list with
+    // its trailing blank row compares equal to the normalized baseline it was saved as
+    private record ChapterState(String title, long[] keys, String[] primary, String[] secondary) {
+        static ChapterState of(String title, long[] keys, List<Subtitle> rows) {
+            int n = rows == null ? 0 : rows.size();
+            String[] p = new String[n];
+            String[] s = new String[n];
+            int kept = 0;
+            for (int i = 0; i < n; i++) {
+                Subtitle sub = rows.get(i);
+                p[i] = sub == null ? "" : SubtitleNormalizer.safe(sub.getPrimaryText());
+                s[i] = sub == null ? "" : SubtitleNormalizer.safe(sub.getSecondaryText());
+                if (!p[i].isEmpty() || !s[i].isEmpty()) kept = i + 1;
+            }
+            return new ChapterState(title, Arrays.copyOf(keys, kept), Arrays.copyOf(p, kept), Arrays.copyOf(s, kept));
+        }
+
+        int size() {
+            return primary.length;
+        }
+    }
+
+    /* ---------------- Recovery ---------------- */
+
+    /**
+     * Most recent journal in dir that holds edits beyond its header, if any.
+     */
+    public static Optional<Recovery> findRecovery(Path dir) {
+        if (!Files.isDirectory(dir)) return Optional.empty();
+        ObjectMapper mapper = new ObjectMapper();
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(JOURNAL_EXT))
+                    .map(p -> Recovery.read(p, mapper))
+                    .filter(Objects::nonNull)
+                    .max(Comparator.comparing(Recovery::modified));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    public static final class Recovery {
+        private final Path journal;
+        private final File baseFile;
+        private final Instant modified;
+        private final List<JsonNode> records;
+        private final ObjectMapper mapper;
+
+        private Recovery(Path journal, File baseFile, Instant modified, List<JsonNode> records, ObjectMapper mapper) {
+            this.journal = journal;
+            this.baseFile = baseFile;
+            this.modified = modified;
+            this.records = records;
+            this.mapper = mapper;
+        }
+
+        // A torn last line (crash mid-append) ends the replay; everything before it is kept
+        private static Recovery read(Path journal, ObjectMapper mapper) {
+            try (BufferedReader in = Files.newBufferedReader(journal, StandardCharsets.UTF_8)) {
+                String line = in.readLine();
+                if (line == null) return null;
+                JsonNode header = mapper.readTree(line);
+                if (!"base".equals(header.path("t").asText())) return null;
+                List<JsonNode> records = new ArrayList<>();
+                while ((line = in.readLine()) != null) {
+                    try {
+                        records.add(mapper.readTree(line));
+                    } catch (IOException torn) {
+                        break;
+                    }
+                }
+                if (records.isEmpty()) {
+                    Files.deleteIfExists(journal);
+                    return null;
+                }
+                String project = header.path("project").isTextual() ? header.get("project").asText() : null;
+                return new Recovery(journal,
+                        project != null ? new File(project) : null,
+                        Files.getLastModifiedTime(journal).toInstant(),
+                        records, mapper);
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Saved project the journal was started from; null for an untitled project.
+         */
+        public File baseFile() {
+            return baseFile;
+        }
+
+        public Instant modified() {
+            return modified;
+        }
+
+        /**
+         * Replays the journal onto the project loaded from baseFile() (or an empty project).
+         */
+        public SublyProjectFile apply(SublyProjectFile base) {
+            SublyProjectFile project = base != null ? base : new SublyProjectFile();
+            if (project.getChapters() == null) project.setChapters(new ArrayList<>());
+            Map<UUID, Chapter> byId = new LinkedHashMap<>();
+            for (Chapter c : project.getChapters()) {
+                c.ensureId();
+                byId.put(c.getId(), c);
+            }
+            for (JsonNode rec : records) {
+                switch (rec.path("t").asText()) {
+                    case "order" -> {
+                        List<Chapter> ordered = new ArrayList<>();
+                        for (JsonNode id : rec.path("ids")) {
+                            UUID uuid = UUID.fromString(id.asText());
+                            ordered.add(byId.computeIfAbsent(uuid, k -> new Chapter(k, "")));
+                        }
+                        project.setChapters(ordered);
+                    }
+                    case "chapter" -> {
+                        UUID uuid = UUID.fromString(rec.path("id").asText());
+                        Chapter c = byId.computeIfAbsent(uuid, k -> new Chapter(k, ""));
+                        if (!project.getChapters().contains(c)) project.getChapters().add(c);
+                        c.setTitle(rec.path("title").asText(c.getTitle()));
+                        List<Subtitle> subs = new ArrayList<>(c.getSubtitles());
+                        JsonNode splice = rec.get("splice");
+                        if (splice != null) {
+                            int from = Math.min(Math.max(0, splice.path(0).asInt()), subs.size());
+                            int removed = Math.min(Math.max(0, splice.path(1).asInt()), subs.size() - from);
+                            subs.subList(from, from + removed).clear();
+                            List<Subtitle> inserted = new ArrayList<>();
+                            for (JsonNode row : splice.path(2)) {
+                                inserted.add(new Subtitle(0, row.path(0).asText(""), row.path(1).asText("")));
+                            }
+                            subs.addAll(from, inserted);
+                        }
+                        int size = rec.path("size").asInt(subs.size());
+                        while (subs.size() > size) subs.remove(subs.size() - 1);
+                        while (subs.size() < size) subs.add(new Subtitle(subs.size() + 1, "", ""));
+                        for (JsonNode row : rec.path("rows")) {
+                            int i = row.get(0).asInt();
+                            if (i < 0 || i >= size) continue;
+                            subs.set(i, new Subtitle(i + 1, row.get(1).asText(""), row.get(2).asText("")));
+                        }
+                        // a splice shifts the rows after it
+                        for (int i = 0; i < subs.size(); i++) subs.get(i).setId(i + 1);
+                        c.setSubtitles(subs);
+                    }
+                    case "settings" -> {
+                        try {
+                            project.setSettings(mapper.treeToValue(rec.get("settings"), SublySettings.class));
+                        } catch (IOException ignored) {
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+            return project;
+        }
+
+        public void delete() {
+            try {
+                Files.deleteIfExists(journal);
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
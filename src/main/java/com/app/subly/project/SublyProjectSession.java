@@ -2,6 +2,7 @@ package com.app.subly.project;
 
 import com.app.subly.component.TrailingBlankRowPolicy;
 import com.app.subly.model.Chapter;
+import com.app.subly.model.SublyProjectFile;
 import com.app.subly.model.SublySettings;
 import com.app.subly.model.Subtitle;
 import javafx.beans.property.IntegerProperty;
@@ -23,10 +24,12 @@ import java.util.stream.Collectors;
 public class SublyProjectSession {
 
     private java.io.File projectFile;
+    private int schemaVersion = SublyProjectFile.JSON_SCHEMA_VERSION;
     private SublySettings settings = new SublySettings();
 
     private final ObservableList<Chapter> chapters = FXCollections.observableArrayList();
     private final IntegerProperty selectedChapterIndex = new SimpleIntegerProperty(-1);
+    private final SubtitleSearchIndex searchIndex = new SubtitleSearchIndex(chapters);
 
     private Consumer<Boolean> dirtyListener;
     private boolean dirty;
@@ -92,10 +95,18 @@ public class SublyProjectSession {
     }
 
     public Chapter addChapter() {
-        Chapter c = new Chapter();
         int realCount = (int) chapters.stream().filter(ch -> !isPlaceholder(ch)).count();
-        c.setTitle("Chapter " + (realCount + 1));
+        Chapter c = addChapter("Chapter " + (realCount + 1));
         c.getSubtitles().add(newEmptySubtitle());
+        return c;
+    }
+
+    /**
+     * Appends an empty chapter before the placeholder; used by imports, which fill in the rows.
+     */
+    public Chapter addChapter(String title) {
+        Chapter c = new Chapter();
+        c.setTitle(title);
 
         // Insert before placeholder if it exists
         if (!chapters.isEmpty() && isPlaceholder(chapters.get(chapters.size() - 1))) {
@@ -130,6 +141,12 @@ public class SublyProjectSession {
 
         List<Subtitle> items = table.getItems();
         if (items == null) return;
+        // The table normally shows the chapter's own list: nothing to copy. The trailing blank
+        // row stays in it and is dropped when the project is normalized for saving.
+        if (items == selected.getSubtitles()) {
+            markDirty();
+            return;
+        }
 
         List<Subtitle> cleaned = new ArrayList<>();
         for (int i = 0; i < items.size(); i++) {
@@ -0,0 +1,197 @@
+package com.app.subly.project;
+
+import com.app.subly.model.Chapter;
+import com.app.subly.model.Subtitle;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram index over the primary and secondary text of every chapter's rows, for
+ * project-wide find. Matching is a case-insensitive substring match; queries of three or more
+ * characters only verify the rows that contain all of the query's trigrams.
+ * <p>
+ * Built on first use, then kept current incrementally: chapter add/remove, row add/remove/replace
+ * in each chapter's list (so RowIndexer.invalidate() re-indexes a row), and {@link #update} for
+ * text set on a row in place. FX thread only.
+ */
+public class SubtitleSearchIndex {
+
+    public record Hit(Chapter chapter, int chapterIndex, int row, Subtitle subtitle) {
+    }
+
+    private static final int GRAM = 3;
+
+    private final ObservableList<Chapter> chapters;
+    // trigram -> rows whose text contains it
+    private final Map<String, Set<Subtitle>> grams = new HashMap<>();
+    // row -> the folded text it is indexed under
+    private final Map<Subtitle, String> indexed = new IdentityHashMap<>();
+    // chapter -> the row list being listened to (a chapter's list can be swapped by setSubtitles)
+    private final Map<Chapter, ObservableList<Subtitle>> tracked = new IdentityHashMap<>();
+    private final ListChangeListener<Subtitle> rowListener = this::onRowsChanged;
+    private boolean built;
+
+    SubtitleSearchIndex(ObservableList<Chapter> chapters) {
+        this.chapters = chapters;
+        chapters.addListener((ListChangeListener<Chapter>) c -> {
+            if (built) syncChapters();
+        });
+    }
+
+    /**
+     * Re-indexes row after its text was changed in place (no list change was fired).
+     */
+    public void update(Subtitle row) {
+        if (!built || row == null) return;
+        String old = indexed.get(row);
+        if (old == null) return;
+        String text = fold(row);
+        if (old.equals(text)) return;
+        unindex(row);
+        index(row, text);
+    }
+
+    /**
+     * Every row containing query, in project order.
+     */
+    public List<Hit> find(String query) {
+        String q = fold(query);
+        if (q.isEmpty()) return List.of();
+        ensureBuilt();
+        Set<Subtitle> candidates = candidates(q);
+        if (candidates != null && candidates.isEmpty()) return List.of();
+
+        List<Hit> hits = new ArrayList<>();
+        for (int c = 0; c < chapters.size(); c++) {
+            Chapter chapter = chapters.get(c);
+            List<Subtitle> rows = chapter.getSubtitles();
+            for (int r = 0; r < rows.size(); r++) {
+                Subtitle row = rows.get(r);
+                if (candidates != null && !candidates.contains(row)) continue;
+                String text = indexed.get(row);
+                if (text != null && text.contains(q)) hits.add(new Hit(chapter, c, r, row));
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * First hit after (chapterIndex, row), wrapping around to the start; null if nothing matches.
+     */
+    public Hit findNext(String query, int chapterIndex, int row) {
+        List<Hit> hits = find(query);
+        if (hits.isEmpty()) return null;
+        for (Hit hit : hits) {
+            if (hit.chapterIndex() > chapterIndex || (hit.chapterIndex() == chapterIndex && hit.row() > row)) {
+                return hit;
+            }
+        }
+        return hits.getFirst();
+    }
+
+    public int size() {
+        return indexed.size();
+    }
+
+    // null means "every row" (query shorter than a trigram)
+    private Set<Subtitle> candidates(String q) {
+        if (q.length() < GRAM) return null;
+        Set<Subtitle> smallest = null;
+        for (int i = 0; i + GRAM <= q.length(); i++) {
+            Set<Subtitle> rows = grams.get(q.substring(i, i + GRAM));
+            if (rows == null) return Set.of();
+            if (smallest == null || rows.size() < smallest.size()) smallest = rows;
+        }
+        return smallest;
+    }
+
+    // Also catches lists swapped in by Chapter.setSubtitles(), which fires no event
+    private void ensureBuilt() {
+        built = true;
+        syncChapters();
+    }
+
+    private void syncChapters() {
+        Set<Chapter> present = Collections.newSetFromMap(new IdentityHashMap<>());
+        present.addAll(chapters);
+        Iterator<Map.Entry<Chapter, ObservableList<Subtitle>>> it = tracked.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Chapter, ObservableList<Subtitle>> e = it.next();
+            if (!present.contains(e.getKey()) || e.getValue() != e.getKey().getSubtitles()) {
+                untrack(e.getValue());
+                it.remove();
+            }
+        }
+        for (Chapter chapter : chapters) {
+            if (tracked.containsKey(chapter)) continue;
+            ObservableList<Subtitle> rows = chapter.getSubtitles();
+            tracked.put(chapter, rows);
+            rows.addListener(rowListener);
+            for (Subtitle row : rows) if (row != null) index(row, fold(row));
+        }
+    }
+
+    private void untrack(ObservableList<Subtitle> rows) {
+        rows.removeListener(rowListener);
+        for (Subtitle row : rows) unindex(row);
+    }
+
+    private void onRowsChanged(ListChangeListener.Change<? extends Subtitle> c) {
+        while (c.next()) {
+            if (c.wasPermutated()) continue;
+            if (c.wasUpdated()) {
+                for (int i = c.getFrom(); i < c.getTo(); i++) update(c.getList().get(i));
+                continue;
+            }
+            for (Subtitle row : c.getRemoved()) unindex(row);
+            for (Subtitle row : c.getAddedSubList()) if (row != null) index(row, fold(row));
+        }
+    }
+
+    private void index(Subtitle row, String text) {
+        if (indexed.putIfAbsent(row, text) != null) return;
+        for (String gram : grams(text)) {
+            grams.computeIfAbsent(gram, k -> Collections.newSetFromMap(new IdentityHashMap<>())).add(row);
+        }
+    }
+
+    private void unindex(Subtitle row) {
+        if (row == null) return;
+        String text = indexed.remove(row);
+        if (text == null) return;
+        for (String gram : grams(text)) {
+            Set<Subtitle> rows = grams.get(gram);
+            if (rows != null && rows.remove(row) && rows.isEmpty()) grams.remove(gram);
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> out = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) out.add(text.substring(i, i + GRAM));
+        return out;
+    }
+
+    /**
+     * Case-insensitive literal pattern for query; it matches in exactly the rows find() returns.
+     */
+    public static Pattern pattern(String query) {
+        return Pattern.compile(Pattern.quote(query), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    }
+
+    // Primary and secondary are searched together; the separator keeps matches from spanning both
+    private static String fold(Subtitle row) {
+        return fold(row.getPrimaryText()) + '\u0000' + fold(row.getSecondaryText());
+    }
+
+    // Per code point, the same folding Pattern uses for CASE_INSENSITIVE | UNICODE_CASE. Unlike
+    // String.toLowerCase it never changes the length (e.g. for 'İ'), so both agree on every match
+    private static String fold(String text) {
+        if (text == null || text.isEmpty()) return "";
+        StringBuilder sb = new StringBuilder(text.length());
+        text.codePoints().forEach(cp -> sb.appendCodePoint(Character.toLowerCase(Character.toUpperCase(cp))));
+        return sb.toString();
+    }
+}
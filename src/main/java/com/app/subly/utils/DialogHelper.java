@@ -1,8 +1,14 @@
 package com.app.subly.utils;
 
 import javafx.application.Platform;
+import javafx.concurrent.Task;
+import javafx.geometry.Insets;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.control.Alert;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.VBox;
 import javafx.stage.Screen;
 import javafx.stage.Stage;
 import javafx.stage.Window;
@@ -36,6 +42,35 @@ public final class DialogHelper {
                 "Path:\n" + attemptedUri);
     }
 
+    /**
+     * Non-blocking progress dialog for a background task. Pressing Cancel cancels the task;
+     * the dialog closes itself when the task finishes, fails or is cancelled.
+     */
+    public static Alert showProgress(Window owner, Task<?> task) {
+        ProgressBar bar = new ProgressBar();
+        bar.setPrefWidth(320);
+        bar.progressProperty().bind(task.progressProperty());
+        Label message = new Label();
+        message.textProperty().bind(task.messageProperty());
+        VBox content = new VBox(8, bar, message);
+        content.setPadding(new Insets(10));
+
+        Alert alert = new Alert(Alert.AlertType.NONE);
+        if (owner != null) alert.initOwner(owner);
+        alert.titleProperty().bind(task.titleProperty());
+        alert.setHeaderText(null);
+        alert.getDialogPane().setContent(content);
+        alert.getButtonTypes().setAll(ButtonType.CANCEL);
+        alert.setOnHidden(e -> {
+            if (task.isRunning()) task.cancel();
+        });
+        task.runningProperty().addListener((o, was, running) -> {
+            if (!running && task.isDone()) alert.close();
+        });
+        alert.show();
+        return alert;
+    }
+
     private static void centerOnOwner(Alert alert, Stage owner) {
         Window dialogWindow = alert.getDialogPane().getScene().getWindow();
         if (owner != null) {
@@ -4,6 +4,7 @@ module com.app.subly {
     requires static lombok;
     requires com.fasterxml.jackson.databind;
     requires com.fasterxml.jackson.datatype.jsr310;
+    requires com.fasterxml.jackson.dataformat.smile;
     requires java.desktop;
 
     opens com.app.subly.model to com.fasterxml.jackson.databind;
@@ -0,0 +1,260 @@
+package com.app.subly.component;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EditHistoryTest {
+
+    // Records "undo:<name>" / "redo:<name>" so tests can check what ran and in which order
+    private final List<String> log = new ArrayList<>();
+
+    private EditHistory.Edit edit(String name, long bytes) {
+        return new EditHistory.Edit() {
+            @Override
+            public void undo() {
+                log.add("undo:" + name);
+            }
+
+            @Override
+            public void redo() {
+                log.add("redo:" + name);
+            }
+
+            @Override
+            public long estimatedBytes() {
+                return bytes;
+            }
+        };
+    }
+
+    @Test
+    void undoAndRedoApplyInStackOrder() {
+        int[] postApply = {0};
+        int[] dirty = {0};
+        EditHistory history = new EditHistory(() -> postApply[0]++, () -> dirty[0]++);
+        history.push(edit("a", 100));
+        history.push(edit("b", 100));
+
+        history.undo();
+        history.undo();
+        history.redo();
+
+        assertEquals(List.of("undo:b", "undo:a", "redo:a"), log);
+        assertEquals(3, postApply[0]);
+        assertEquals(5, dirty[0]);
+        assertTrue(history.canUndo());
+        assertTrue(history.canRedo());
+    }
+
+    @Test
+    void pushClearsRedo() {
+        EditHistory history = new EditHistory(null, null);
+        history.push(edit("a", 100));
+        history.undo();
+        history.push(edit("b", 100));
+
+        assertFalse(history.canRedo());
+        assertEquals(1, history.getUndoCount());
+        assertEquals(1, history.getTotalCount());
+    }
+
+    @Test
+    void noOpEditsAreNotRecorded() {
+        EditHistory history = new EditHistory(null, null);
+        history.push(new EditHistory.CellEdit("row", "col", v -> {
+        }, "same", "same"));
+        history.push(new EditHistory.CompoundEdit());
+
+        assertFalse(history.canUndo());
+        assertEquals(0, history.getTotalCount());
+    }
+
+    @Test
+    void consecutiveEditsOfOneCellCoalesce() {
+        Object row = new Object();
+        List<String> written = new ArrayList<>();
+        EditHistory history = new EditHistory(null, null);
+        history.push(new EditHistory.CellEdit(row, "col", written::add, "", "h"));
+        history.push(new EditHistory.CellEdit(row, "col", written::add, "h", "he"));
+        history.push(new EditHistory.CellEdit(row, "col", written::add, "he", "hey"));
+
+        assertEquals(1, history.getUndoCount());
+        history.undo();
+        assertEquals(List.of(""), written);
+        history.redo();
+        assertEquals(List.of("", "hey"), written);
+    }
+
+    @Test
+    void editsOfOtherCellsOrAfterUndoDoNotCoalesce() {
+        Object row = new Object();
+        EditHistory history = new EditHistory(null, null);
+        history.push(new EditHistory.CellEdit(row, "primary", v -> {
+        }, "", "a"));
+        history.push(new EditHistory.CellEdit(row, "secondary", v -> {
+        }, "", "b"));
+        history.push(new EditHistory.CellEdit(new Object(), "secondary", v -> {
+        }, "", "c"));
+        assertEquals(3, history.getUndoCount());
+
+        history.undo();
+        history.push(new EditHistory.CellEdit(row, "secondary", v -> {
+        }, "b", "bb"));
+        assertEquals(3, history.getUndoCount());
+    }
+
+    @Test
+    void editCoalescedBackToItsOldValueIsDropped() {
+        Object row = new Object();
+        EditHistory history = new EditHistory(null, null);
+        history.push(new EditHistory.CellEdit(row, "col", v -> {
+        }, "x", "xy"));
+        history.push(new EditHistory.CellEdit(row, "col", v -> {
+        }, "xy", "x"));
+
+        assertFalse(history.canUndo());
+        assertEquals(0, history.getTotalCount());
+        assertEquals(0, history.getTotalBytes());
+    }
+
+    @Test
+    void countBudgetDropsOldestEntries() {
+        EditHistory history = new EditHistory(null, null, 3, Long.MAX_VALUE);
+        for (String name : List.of("a", "b", "c", "d", "e")) history.push(edit(name, 10));
+
+        assertEquals(3, history.getUndoCount());
+        while (history.canUndo()) history.undo();
+        assertEquals(List.of("undo:e", "undo:d", "undo:c"), log);
+    }
+
+    @Test
+    void byteBudgetKeepsTheNewestEntryEvenIfItAloneIsOver() {
+        EditHistory history = new EditHistory(null, null, 100, 250);
+        history.push(edit("a", 100));
+        history.push(edit("b", 100));
+        history.push(edit("c", 100));
+        assertEquals(2, history.getUndoCount());
+        assertEquals(200, history.getTotalBytes());
+
+        history.push(edit("huge", 1000));
+        assertEquals(1, history.getUndoCount());
+        assertEquals(1000, history.getTotalBytes());
+        assertEquals(1000, history.estimatedBytesProperty().get());
+    }
+
+    @Test
+    void scopesKeepSeparateStacks() {
+        EditHistory history = new EditHistory(null, null);
+        history.switchTo("A");
+        history.push(edit("a1", 10));
+        history.switchTo("B");
+        assertFalse(history.canUndo());
+        history.push(edit("b1", 10));
+
+        history.switchTo("A");
+        history.undo();
+        assertEquals(List.of("undo:a1"), log);
+        assertEquals(1, history.getRedoCount());
+        assertEquals(2, history.getTotalCount());
+
+        history.switchTo("B");
+        assertTrue(history.canUndo());
+        assertFalse(history.canRedo());
+    }
+
+    @Test
+    void budgetEvictsLeastRecentlyUsedScopeFirst() {
+        EditHistory history = new EditHistory(null, null, 4, Long.MAX_VALUE);
+        history.switchTo("A");
+        history.push(edit("a1", 10));
+        history.push(edit("a2", 10));
+        history.switchTo("B");
+        history.push(edit("b1", 10));
+        history.push(edit("b2", 10));
+        history.push(edit("b3", 10));
+
+        assertEquals(4, history.getTotalCount());
+        assertEquals(3, history.getUndoCount());
+        history.switchTo("A");
+        assertEquals(1, history.getUndoCount());
+        history.undo();
+        assertEquals(List.of("undo:a2"), log);
+    }
+
+    @Test
+    void pushIntoAnotherScopeLeavesTheCurrentOneAlone() {
+        EditHistory history = new EditHistory(null, null);
+        history.switchTo("A");
+        history.push(edit("a1", 10));
+        history.push("B", edit("b1", 10));
+
+        assertEquals(1, history.getUndoCount());
+        assertEquals(2, history.getTotalCount());
+        assertEquals(20, history.getTotalBytes());
+        history.switchTo("B");
+        history.undo();
+        assertEquals(List.of("undo:b1"), log);
+    }
+
+    @Test
+    void forgetAndClearReleaseTheBudget() {
+        EditHistory history = new EditHistory(null, null);
+        history.switchTo("A");
+        history.push(edit("a1", 10));
+        history.switchTo("B");
+        history.push(edit("b1", 10));
+
+        history.forget("A");
+        assertEquals(1, history.getTotalCount());
+        assertEquals(10, history.getTotalBytes());
+
+        history.forget("B");
+        assertFalse(history.canUndo());
+        assertEquals(0, history.getTotalCount());
+
+        history.push(edit("b2", 10));
+        history.clear();
+        assertEquals(0, history.getTotalCount());
+        assertEquals(1, history.getScopeCount());
+    }
+
+    @Test
+    void forgetDoesNotCreateOrKeepScopes() {
+        EditHistory history = new EditHistory(null, null);
+        history.forget("missing");
+        assertEquals(1, history.getScopeCount());
+
+        history.switchTo("A");
+        history.push(edit("a1", 10));
+        history.switchTo("B");
+        history.push(edit("b1", 10));
+        assertEquals(3, history.getScopeCount());
+
+        // Deleting the shown chapter: its key must not be re-created
+        history.forget("B");
+        assertEquals(2, history.getScopeCount());
+        assertFalse(history.canUndo());
+        history.push(edit("loose", 10));
+        history.forget("B");
+        assertEquals(2, history.getScopeCount());
+
+        history.switchTo("A");
+        history.undo();
+        assertEquals(List.of("undo:a1"), log);
+        assertEquals(2, history.getTotalCount());
+    }
+
+    @Test
+    void compoundEditUndoesChildrenInReverse() {
+        EditHistory history = new EditHistory(null, null);
+        history.push(new EditHistory.CompoundEdit().add(edit("a", 10)).add(edit("b", 10)));
+        history.undo();
+        history.redo();
+
+        assertEquals(List.of("undo:b", "undo:a", "redo:a", "redo:b"), log);
+    }
+}
@@ -0,0 +1,75 @@
+package com.app.subly.component;
+
+import com.app.subly.model.Subtitle;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowIndexerTest {
+
+    private static List<Subtitle> rows(int n) {
+        List<Subtitle> out = new ArrayList<>();
+        for (int i = 0; i < n; i++) out.add(new Subtitle(null, "row " + i, ""));
+        return out;
+    }
+
+    @Test
+    void findsRowsFromAnyHint() {
+        List<Subtitle> items = rows(10);
+        for (int i = 0; i < items.size(); i++) {
+            Subtitle row = items.get(i);
+            assertEquals(i, RowIndexer.indexOf(items, row, i));
+            assertEquals(i, RowIndexer.indexOf(items, row, 0));
+            assertEquals(i, RowIndexer.indexOf(items, row, 9));
+        }
+    }
+
+    @Test
+    void hintsOutsideTheListAreClamped() {
+        List<Subtitle> items = rows(5);
+        assertEquals(0, RowIndexer.indexOf(items, items.get(0), 100));
+        assertEquals(4, RowIndexer.indexOf(items, items.get(4), -7));
+    }
+
+    @Test
+    void matchesByIdentityNotEquals() {
+        Subtitle first = new Subtitle(null, "", "");
+        Subtitle second = new Subtitle(null, "", "");
+        List<Subtitle> items = List.of(first, second);
+        assertEquals(first, second);
+
+        assertEquals(1, RowIndexer.indexOf(items, second, 0));
+        assertEquals(0, RowIndexer.indexOf(items, first, 1));
+        assertEquals(-1, RowIndexer.indexOf(items, new Subtitle(null, "", ""), 0));
+    }
+
+    @Test
+    void missingInputsGiveMinusOne() {
+        assertEquals(-1, RowIndexer.indexOf(null, new Subtitle(), 0));
+        assertEquals(-1, RowIndexer.indexOf(rows(3), null, 0));
+        assertEquals(-1, RowIndexer.indexOf(List.of(), new Subtitle(), 0));
+    }
+
+    @Test
+    void invalidateReplacesTheRowWithItself() {
+        ObservableList<Subtitle> items = FXCollections.observableArrayList(rows(4));
+        Subtitle row = items.get(2);
+        List<Integer> replaced = new ArrayList<>();
+        items.addListener((ListChangeListener<Subtitle>) c -> {
+            while (c.next()) replaced.add(c.getFrom());
+        });
+
+        assertEquals(2, RowIndexer.invalidate(items, row, 0));
+        assertSame(row, items.get(2));
+        assertEquals(List.of(2), replaced);
+
+        assertEquals(-1, RowIndexer.invalidate(items, new Subtitle(), 0));
+        assertEquals(1, replaced.size());
+    }
+}
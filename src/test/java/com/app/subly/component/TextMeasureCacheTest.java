@@ -0,0 +1,87 @@
+package com.app.subly.component;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextMeasureCacheTest {
+
+    // Every layout the cache asks for, as "text@width"
+    private final List<String> measured = new ArrayList<>();
+
+    private TextMeasureCache cache(int maxEntries) {
+        return new TextMeasureCache(maxEntries, (text, font, width) -> {
+            measured.add(text + "@" + width);
+            return text.length() + width / 10.0;
+        });
+    }
+
+    @Test
+    void repeatedLookupsAreServedFromTheCache() {
+        TextMeasureCache cache = cache(16);
+        double first = cache.height("hello", null, 100);
+        double second = cache.height("hello", null, 100);
+
+        assertEquals(first, second);
+        assertEquals(List.of("hello@100"), measured);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void widthsAreRoundedToWholePixels() {
+        TextMeasureCache cache = cache(16);
+        cache.height("a", null, 99.6);
+        cache.height("a", null, 100.4);
+        cache.height("a", null, 100.6);
+
+        assertEquals(List.of("a@100", "a@101"), measured);
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void nonPositiveWidthMeansNoWrapping() {
+        TextMeasureCache cache = cache(16);
+        cache.height(null, null, -5);
+        cache.height("", null, 0);
+
+        assertEquals(List.of("@0"), measured);
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() {
+        TextMeasureCache cache = cache(2);
+        cache.height("a", null, 10);
+        cache.height("b", null, 10);
+        cache.height("a", null, 10);
+        cache.height("c", null, 10);
+        assertEquals(2, cache.size());
+
+        measured.clear();
+        cache.height("a", null, 10);
+        cache.height("b", null, 10);
+        assertEquals(List.of("b@10"), measured);
+    }
+
+    @Test
+    void clearDropsEntriesButKeepsCounters() {
+        TextMeasureCache cache = cache(16);
+        cache.height("a", null, 10);
+        cache.height("a", null, 10);
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        cache.height("a", null, 10);
+        assertEquals(2, cache.getMisses());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void rejectsANonPositiveBound() {
+        assertThrows(IllegalArgumentException.class, () -> cache(0));
+    }
+}
@@ -0,0 +1,117 @@
+package com.app.subly.component;
+
+import com.app.subly.model.Subtitle;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrailingBlankRowPolicyTest {
+
+    private final TrailingBlankRowPolicy policy = new TrailingBlankRowPolicy();
+
+    private static Subtitle row(String primary) {
+        return new Subtitle(null, primary, "");
+    }
+
+    private static Subtitle blank() {
+        return new Subtitle(null, "", "");
+    }
+
+    private static List<String> texts(List<Subtitle> items) {
+        return items.stream().map(Subtitle::getPrimaryText).toList();
+    }
+
+    @Test
+    void blankMeansBothTextsEmptyOrWhitespace() {
+        assertTrue(policy.isBlankRow(null));
+        assertTrue(policy.isBlankRow(new Subtitle(1, null, " \t")));
+        assertFalse(policy.isBlankRow(new Subtitle(1, "", "x")));
+        assertFalse(policy.isBlankRow(new Subtitle(1, "x", null)));
+    }
+
+    @Test
+    void trimTailAddsABlankRowWhenMissing() {
+        ObservableList<Subtitle> items = FXCollections.observableArrayList(row("a"));
+        policy.trimTail(items);
+        assertEquals(2, items.size());
+        assertTrue(policy.isBlankRow(items.get(1)));
+
+        ObservableList<Subtitle> empty = FXCollections.observableArrayList();
+        policy.trimTail(empty);
+        assertEquals(1, empty.size());
+    }
+
+    @Test
+    void trimTailKeepsTheFirstOfSeveralTrailingBlankRows() {
+        Subtitle first = blank();
+        ObservableList<Subtitle> items = FXCollections.observableArrayList(row("a"), first, blank(), blank());
+        policy.trimTail(items);
+
+        assertEquals(2, items.size());
+        assertSame(first, items.get(1));
+    }
+
+    @Test
+    void trimTailLeavesASingleTrailingBlankRowAlone() {
+        Subtitle tail = blank();
+        ObservableList<Subtitle> items = FXCollections.observableArrayList(row("a"), tail);
+        int[] changes = {0};
+        items.addListener((ListChangeListener<Subtitle>) c -> changes[0]++);
+        policy.trimTail(items);
+
+        assertEquals(0, changes[0]);
+        assertSame(tail, items.get(1));
+    }
+
+    @Test
+    void settleRemovesBlankRowsInTheEditedRangeOnly() {
+        ObservableList<Subtitle> items = FXCollections.observableArrayList(
+                row("a"), blank(), row("b"), blank(), blank(), row("c"), blank(), blank());
+        policy.settle(items, 2, 5);
+
+        assertEquals(List.of("a", "", "b", "c", ""), texts(items));
+    }
+
+    @Test
+    void settleRemovesAContiguousBlankRunWithOneChange() {
+        ObservableList<Subtitle> items = FXCollections.observableArrayList(
+                row("a"), blank(), blank(), blank(), row("b"), blank());
+        int[] changes = {0};
+        items.addListener((ListChangeListener<Subtitle>) c -> changes[0]++);
+        policy.settle(items, 1, 4);
+
+        assertEquals(List.of("a", "b", ""), texts(items));
+        assertEquals(1, changes[0]);
+    }
+
+    @Test
+    void settleNeverRemovesTheLastRow() {
+        Subtitle tail = blank();
+        ObservableList<Subtitle> items = FXCollections.observableArrayList(row("a"), tail);
+        policy.settle(items, 0, items.size());
+
+        assertEquals(2, items.size());
+        assertSame(tail, items.get(1));
+    }
+
+    @Test
+    void settleAddsATrailingBlankRowAfterTheLastRowIsFilled() {
+        ObservableList<Subtitle> items = FXCollections.observableArrayList(row("a"), row("b"));
+        policy.settle(items, 1, 2);
+
+        assertEquals(List.of("a", "b", ""), texts(items));
+    }
+
+    @Test
+    void settleClampsAnOutOfRangeSpan() {
+        ObservableList<Subtitle> items = FXCollections.observableArrayList(blank(), row("a"), blank());
+        policy.settle(items, -3, 99);
+
+        assertEquals(List.of("a", ""), texts(items));
+    }
+}
@@ -0,0 +1,115 @@
+package com.app.subly.controller.manager;
+
+import com.app.subly.component.TrailingBlankRowPolicy;
+import com.app.subly.model.Subtitle;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchManagerTest {
+
+    private final ObservableList<Subtitle> items = FXCollections.observableArrayList();
+    private final List<Subtitle> written = new ArrayList<>();
+    private int repaints;
+
+    private Subtitle row(String primary, String secondary) {
+        Subtitle s = new Subtitle(items.size() + 1, primary, secondary);
+        items.add(s);
+        return s;
+    }
+
+    private SearchManager.ReplaceEdit edit() {
+        return new SearchManager.ReplaceEdit(() -> items, new TrailingBlankRowPolicy(), written::add,
+                () -> repaints++);
+    }
+
+    private List<String> texts() {
+        return items.stream().map(s -> s.getPrimaryText() + "/" + s.getSecondaryText()).toList();
+    }
+
+    @Test
+    void replaceWritesValuesAndUndoRestoresThem() {
+        Subtitle a = row("hello world", "");
+        Subtitle b = row("world", "world peace");
+        row("", "");
+        SearchManager.ReplaceEdit edit = edit();
+        edit.add(a, 0, "hello earth", "");
+        edit.add(b, 1, "earth", "earth peace");
+        edit.apply();
+
+        assertEquals(List.of("hello earth/", "earth/earth peace", "/"), texts());
+        assertEquals(List.of(a, b), written);
+        assertEquals(2, edit.size());
+
+        edit.undo();
+        assertEquals(List.of("hello world/", "world/world peace", "/"), texts());
+        assertEquals(1, repaints);
+    }
+
+    @Test
+    void rowsLeftBlankAreRemovedAndRestoredByUndo() {
+        Subtitle a = row("x", "");
+        Subtitle b = row("keep", "");
+        Subtitle c = row("x", "x");
+        Subtitle d = row("x", "");
+        Subtitle tail = row("", "");
+        SearchManager.ReplaceEdit edit = edit();
+        edit.add(a, 0, "", "");
+        edit.add(c, 2, "", "");
+        edit.add(d, 3, "", "");
+        edit.apply();
+
+        assertEquals(List.of(b, tail), items);
+
+        edit.undo();
+        assertEquals(List.of(a, b, c, d, tail), items);
+        assertEquals(List.of("x/", "keep/", "x/x", "x/", "/"), texts());
+
+        edit.redo();
+        assertEquals(List.of(b, tail), items);
+        edit.undo();
+        assertEquals(List.of(a, b, c, d, tail), items);
+    }
+
+    @Test
+    void blankedLastRowStaysAsTheTrailingBlankRow() {
+        Subtitle a = row("keep", "");
+        Subtitle b = row("x", "");
+        SearchManager.ReplaceEdit edit = edit();
+        edit.add(b, 1, "", "");
+        edit.apply();
+
+        assertEquals(List.of(a, b), items);
+        edit.undo();
+        assertEquals(List.of("keep/", "x/", "/"), texts());
+    }
+
+    @Test
+    void rowsFoundAwayFromTheirHint() {
+        Subtitle a = row("x", "");
+        Subtitle b = row("keep", "");
+        Subtitle tail = row("", "");
+        SearchManager.ReplaceEdit edit = edit();
+        edit.add(a, 2, "", "");
+        edit.apply();
+
+        assertEquals(List.of(b, tail), items);
+        edit.undo();
+        assertEquals(List.of(a, b, tail), items);
+    }
+
+    @Test
+    void unchangedRowsAreNotRecorded() {
+        Subtitle a = row("same", "");
+        SearchManager.ReplaceEdit edit = edit();
+        edit.add(a, 0, "same", "");
+
+        assertTrue(edit.isNoOp());
+        assertEquals(0, edit.size());
+    }
+}
@@ -0,0 +1,139 @@
+package com.app.subly.persistence;
+
+import com.app.subly.model.Chapter;
+import com.app.subly.model.SublyProjectFile;
+import com.app.subly.model.SublySettings;
+import com.app.subly.model.Subtitle;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectArchiveIOTest {
+
+    @TempDir
+    Path dir;
+
+    private final MediaCache cache = new MediaCache(MediaCache.DEFAULT_MAX_BYTES);
+    private final ProjectArchiveIO archiver = new ProjectArchiveIO(new ObjectMapper(), cache);
+
+    private static SublyProjectFile project(int schemaVersion) {
+        SublyProjectFile project = new SublyProjectFile();
+        project.setSchemaVersion(schemaVersion);
+        project.setSettings(new SublySettings());
+        for (int c = 1; c <= 2; c++) {
+            Chapter chapter = new Chapter(UUID.randomUUID(), "Chapter " + c);
+            chapter.setIndex(c);
+            for (int r = 1; r <= 3; r++) {
+                chapter.getSubtitles().add(new Subtitle(r, "primary " + c + "." + r, "secondary ünïcode " + r));
+            }
+            project.getChapters().add(chapter);
+        }
+        return project;
+    }
+
+    private static void assertSameChapters(SublyProjectFile expected, SublyProjectFile actual) {
+        assertEquals(expected.getSchemaVersion(), actual.getSchemaVersion());
+        assertEquals(expected.getChapters().size(), actual.getChapters().size());
+        for (int i = 0; i < expected.getChapters().size(); i++) {
+            Chapter e = expected.getChapters().get(i);
+            Chapter a = actual.getChapters().get(i);
+            assertEquals(e.getId(), a.getId());
+            assertEquals(e.getTitle(), a.getTitle());
+            assertEquals(e.getIndex(), a.getIndex());
+            assertEquals(List.copyOf(e.getSubtitles()), List.copyOf(a.getSubtitles()));
+        }
+    }
+
+    private static byte[] entryBytes(Path archive, String name) throws IOException {
+        try (ZipFile zip = new ZipFile(archive.toFile())) {
+            ZipEntry entry = zip.getEntry(name);
+            if (entry == null) return null;
+            try (InputStream in = zip.getInputStream(entry)) {
+                return in.readAllBytes();
+            }
+        }
+    }
+
+    @Test
+    void jsonSchemaRoundTrips() throws IOException {
+        SublyProjectFile project = project(SublyProjectFile.JSON_SCHEMA_VERSION);
+        Path archive = dir.resolve("json.subly");
+        archiver.save(project, archive);
+
+        byte[] model = entryBytes(archive, ProjectArchiveIO.JSON_ENTRY);
+        assertNotNull(model);
+        assertEquals('{', model[0]);
+        assertNull(entryBytes(archive, ProjectArchiveIO.SMILE_ENTRY));
+
+        assertSameChapters(project, archiver.load(archive, SublyProjectFile.class));
+        assertSameChapters(project, archiver.open(archive, SublyProjectFile.class));
+        assertEquals(List.of(), archiver.validate(archive, SublyProjectFile.class));
+    }
+
+    @Test
+    void binarySchemaRoundTripsAsSmile() throws IOException {
+        SublyProjectFile project = project(SublyProjectFile.BINARY_SCHEMA_VERSION);
+        Path archive = dir.resolve("smile.subly");
+        archiver.save(project, archive);
+
+        byte[] model = entryBytes(archive, ProjectArchiveIO.SMILE_ENTRY);
+        assertNotNull(model);
+        // Smile header ":)\n"
+        assertEquals(':', model[0]);
+        assertEquals(')', model[1]);
+        assertEquals('\n', model[2]);
+        assertNull(entryBytes(archive, ProjectArchiveIO.JSON_ENTRY));
+
+        assertSameChapters(project, archiver.load(archive, SublyProjectFile.class));
+        assertSameChapters(project, archiver.open(archive, SublyProjectFile.class));
+        assertEquals(List.of(), archiver.validate(archive, SublyProjectFile.class));
+    }
+
+    @Test
+    void loadReferencesMediaInTheArchiveAndWarmsTheCache() throws IOException {
+        byte[] image = {(byte) 0x89, 'P', 'N', 'G', 1, 2, 3, 4};
+        Path png = Files.write(dir.resolve("background.png"), image);
+        SublyProjectFile project = project(SublyProjectFile.BINARY_SCHEMA_VERSION);
+        project.getSettings().setProjectorImageUri(png.toString());
+        Path archive = dir.resolve("media.subly");
+        archiver.save(project, archive);
+
+        String ref = archiver.load(archive, SublyProjectFile.class).getSettings().getProjectorImageUri();
+        assertTrue(ProjectMedia.isArchiveRef(ref));
+        assertEquals(archive.toAbsolutePath(), ProjectMedia.archiveOf(ref));
+        String entry = ProjectMedia.entryOf(ref);
+        assertArrayEquals(image, entryBytes(archive, entry));
+        assertArrayEquals(image, Files.readAllBytes(cache.cached(entry)));
+        assertEquals(List.of(), archiver.validate(archive, SublyProjectFile.class));
+    }
+
+    @Test
+    void mediaSurvivesCacheEvictionBetweenLoadAndSave() throws IOException {
+        byte[] image = {(byte) 0x89, 'P', 'N', 'G', 5, 6, 7, 8};
+        Path png = Files.write(dir.resolve("background.png"), image);
+        SublyProjectFile project = project(SublyProjectFile.JSON_SCHEMA_VERSION);
+        project.getSettings().setProjectorImageUri(png.toString());
+        Path archive = dir.resolve("first.subly");
+        archiver.save(project, archive);
+
+        SublyProjectFile loaded = archiver.load(archive, SublyProjectFile.class);
+        cache.clear();
+        Path resaved = dir.resolve("second.subly");
+        archiver.save(loaded, resaved);
+
+        String ref = archiver.load(resaved, SublyProjectFile.class).getSettings().getProjectorImageUri();
+        assertArrayEquals(image, entryBytes(resaved, ProjectMedia.entryOf(ref)));
+        assertEquals(List.of(), archiver.validate(resaved, SublyProjectFile.class));
+    }
+}
@@ -0,0 +1,72 @@
+package com.app.subly.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubtitleFileReaderTest {
+
+    // "chapter:<title>" and "<primary>|<secondary>" in the order the sink saw them
+    private static List<String> read(String content, SubtitleFileReader.Format format) throws IOException {
+        List<String> out = new ArrayList<>();
+        SubtitleFileReader.read(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format,
+                new SubtitleFileReader.Sink() {
+                    @Override
+                    public void chapter(String title) {
+                        out.add("chapter:" + title);
+                    }
+
+                    @Override
+                    public void subtitle(String primary, String secondary) {
+                        out.add(primary + "|" + secondary);
+                    }
+                });
+        return out;
+    }
+
+    @Test
+    void multiLineCueIsStoredWithTheModelsLineBreakEscape() throws IOException {
+        String srt = """
+                1
+                00:00:01,000 --> 00:00:02,000
+                First line
+                <i>second</i> line
+
+                2
+                00:00:03,000 --> 00:00:04,000
+                Single
+                """;
+
+        assertEquals(List.of("First line\\nsecond line|", "Single|"), read(srt, SubtitleFileReader.Format.SRT));
+    }
+
+    @Test
+    void vttSkipsHeaderAndNotesAndReadsChapterMarkers() throws IOException {
+        String vtt = "\uFEFFWEBVTT\n\nNOTE a comment\n\n"
+                + "00:01.000 --> 00:02.000\n# Act One\n\n"
+                + "00:03.000 --> 00:04.000\nTom &amp; Jerry\n";
+
+        assertEquals(List.of("chapter:Act One", "Tom & Jerry|"), read(vtt, SubtitleFileReader.Format.VTT));
+    }
+
+    @Test
+    void multiLineCueStartingWithTheMarkerIsNotAChapter() throws IOException {
+        String srt = "1\n00:00:01,000 --> 00:00:02,000\n# not a title\nbut text\n";
+
+        assertEquals(List.of("# not a title\\nbut text|"), read(srt, SubtitleFileReader.Format.SRT));
+    }
+
+    @Test
+    void tsvReadsPrimaryAndSecondaryColumns() throws IOException {
+        String tsv = "# Intro\nhello\tbonjour\nonly primary\n\t\n";
+
+        assertEquals(List.of("chapter:Intro", "hello|bonjour", "only primary|"),
+                read(tsv, SubtitleFileReader.Format.TSV));
+    }
+}
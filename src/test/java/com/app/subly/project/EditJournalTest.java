@@ -0,0 +1,201 @@
+package com.app.subly.project;
+
+import com.app.subly.model.Chapter;
+import com.app.subly.model.SublyProjectFile;
+import com.app.subly.model.Subtitle;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EditJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private SublyProjectSession session;
+    private EditJournal journal;
+    private Chapter chapter;
+    private File projectFile;
+
+    @BeforeEach
+    void setUp() {
+        session = new SublyProjectSession();
+        chapter = session.addChapter("One");
+        chapter.getSubtitles().addAll(List.of(
+                new Subtitle(1, "a", ""),
+                new Subtitle(2, "b", "second"),
+                new Subtitle(3, "", "")));
+        projectFile = dir.resolve("show.subly").toFile();
+        journal = new EditJournal(dir.resolve("journal"));
+        journal.bind(session, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.discard();
+    }
+
+    // The project as a save writes it and a load reads it back: fresh objects, no trailing blank row
+    private SublyProjectFile saved() {
+        SublyProjectFile project = new SublyProjectFile();
+        project.setSettings(session.getSettings());
+        List<Chapter> chapters = new ArrayList<>();
+        for (Chapter c : session.getEffectiveChapters()) {
+            Chapter copy = new Chapter(c.getId(), c.getTitle());
+            for (Subtitle s : c.getSubtitles()) {
+                if (!s.getPrimaryText().isEmpty() || !s.getSecondaryText().isEmpty()) {
+                    copy.getSubtitles().add(new Subtitle(s.getId(), s.getPrimaryText(), s.getSecondaryText()));
+                }
+            }
+            chapters.add(copy);
+        }
+        project.setChapters(chapters);
+        return project;
+    }
+
+    private JsonNode lastRecord() throws Exception {
+        Path file;
+        try (Stream<Path> files = Files.list(dir.resolve("journal"))) {
+            file = files.findFirst().orElseThrow();
+        }
+        return new ObjectMapper().readTree(Files.readAllLines(file).getLast());
+    }
+
+    private List<String> primaries(Chapter c) {
+        return c.getSubtitles().stream().map(Subtitle::getPrimaryText).toList();
+    }
+
+    @Test
+    void cleanBaselineLeavesNothingToRecover() throws Exception {
+        journal.reset(projectFile, saved());
+        journal.flush();
+        journal.awaitWriter();
+
+        assertTrue(EditJournal.findRecovery(dir.resolve("journal")).isEmpty());
+    }
+
+    @Test
+    void sessionTakenAsBaselineLeavesNothingToRecover() throws Exception {
+        journal.reset(null, null);
+        journal.flush();
+        journal.awaitWriter();
+
+        assertTrue(EditJournal.findRecovery(dir.resolve("journal")).isEmpty());
+    }
+
+    @Test
+    void editsAreReplayedOnTopOfTheSavedProject() throws Exception {
+        SublyProjectFile onDisk = saved();
+        journal.reset(projectFile, saved());
+        journal.flush();
+        journal.awaitWriter();
+
+        chapter.getSubtitles().get(1).setPrimaryText("B!");
+        chapter.getSubtitles().add(2, new Subtitle(3, "c", ""));
+        chapter.setTitle("Renamed");
+        journal.markChanged();
+        journal.flush();
+        journal.awaitWriter();
+
+        EditJournal.Recovery recovery = EditJournal.findRecovery(dir.resolve("journal")).orElseThrow();
+        assertEquals(projectFile.getAbsoluteFile(), recovery.baseFile());
+
+        SublyProjectFile recovered = recovery.apply(onDisk);
+        assertEquals(1, recovered.getChapters().size());
+        Chapter c = recovered.getChapters().getFirst();
+        assertEquals(chapter.getId(), c.getId());
+        assertEquals("Renamed", c.getTitle());
+        assertEquals(List.of("a", "B!", "c"), primaries(c));
+        assertEquals("second", c.getSubtitles().get(1).getSecondaryText());
+    }
+
+    @Test
+    void addedChapterIsReplayedInOrder() throws Exception {
+        SublyProjectFile onDisk = saved();
+        journal.reset(projectFile, saved());
+        journal.flush();
+        journal.awaitWriter();
+
+        Chapter added = session.addChapter("Two");
+        added.getSubtitles().add(new Subtitle(1, "x", ""));
+        session.setSelectedChapterIndex(1);
+        journal.flush();
+        journal.awaitWriter();
+
+        SublyProjectFile recovered = EditJournal.findRecovery(dir.resolve("journal")).orElseThrow().apply(onDisk);
+        assertEquals(List.of(chapter.getId(), added.getId()),
+                recovered.getChapters().stream().map(Chapter::getId).toList());
+        assertEquals(List.of("a", "b"), primaries(recovered.getChapters().get(0)));
+        assertEquals(List.of("x"), primaries(recovered.getChapters().get(1)));
+    }
+
+    @Test
+    void discardDeletesTheJournal() throws Exception {
+        journal.reset(projectFile, saved());
+        chapter.getSubtitles().get(0).setPrimaryText("changed");
+        journal.markChanged();
+        journal.flush();
+        journal.discard();
+        journal.awaitWriter();
+
+        assertTrue(EditJournal.findRecovery(dir.resolve("journal")).isEmpty());
+    }
+
+    @Test
+    void insertNearTheTopJournalsOnlyTheInsertedRow() throws Exception {
+        for (int i = 0; i < 50; i++) chapter.getSubtitles().add(2, new Subtitle(3 + i, "row " + i, ""));
+        SublyProjectFile onDisk = saved();
+        journal.reset(projectFile, saved());
+        journal.flush();
+        journal.awaitWriter();
+
+        chapter.getSubtitles().add(1, new Subtitle(2, "inserted", ""));
+        journal.markChanged();
+        journal.flush();
+        journal.awaitWriter();
+
+        JsonNode rec = lastRecord();
+        assertEquals("chapter", rec.path("t").asText());
+        assertEquals(1, rec.path("splice").path(0).asInt());
+        assertEquals(0, rec.path("splice").path(1).asInt());
+        assertEquals(1, rec.path("splice").path(2).size());
+        assertEquals("inserted", rec.path("splice").path(2).path(0).path(0).asText());
+        assertTrue(rec.path("rows").isEmpty());
+
+        Chapter c = EditJournal.findRecovery(dir.resolve("journal")).orElseThrow().apply(onDisk).getChapters().getFirst();
+        assertEquals(primaries(saved().getChapters().getFirst()), primaries(c));
+        assertEquals(53, c.getSubtitles().getLast().getId());
+    }
+
+    @Test
+    void removedAndEditedRowsAreReplayed() throws Exception {
+        SublyProjectFile onDisk = saved();
+        journal.reset(projectFile, saved());
+        journal.flush();
+        journal.awaitWriter();
+
+        chapter.getSubtitles().removeFirst();
+        chapter.getSubtitles().getFirst().setSecondaryText("edited");
+        journal.markChanged();
+        journal.flush();
+        journal.awaitWriter();
+
+        Chapter c = EditJournal.findRecovery(dir.resolve("journal")).orElseThrow().apply(onDisk).getChapters().getFirst();
+        assertEquals(List.of("b"), primaries(c));
+        assertEquals("edited", c.getSubtitles().getFirst().getSecondaryText());
+        assertEquals(1, c.getSubtitles().getFirst().getId());
+    }
+}
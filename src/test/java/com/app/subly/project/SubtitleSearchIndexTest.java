@@ -0,0 +1,141 @@
+package com.app.subly.project;
+
+import com.app.subly.model.Chapter;
+import com.app.subly.model.Subtitle;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubtitleSearchIndexTest {
+
+    private final ObservableList<Chapter> chapters = FXCollections.observableArrayList();
+    private final SubtitleSearchIndex index = new SubtitleSearchIndex(chapters);
+
+    private Chapter chapter(String title, String... primaries) {
+        Chapter chapter = new Chapter(UUID.randomUUID(), title);
+        for (String p : primaries) chapter.getSubtitles().add(new Subtitle(null, p, ""));
+        chapters.add(chapter);
+        return chapter;
+    }
+
+    private static List<String> where(List<SubtitleSearchIndex.Hit> hits) {
+        return hits.stream().map(h -> h.chapterIndex() + ":" + h.row()).toList();
+    }
+
+    @Test
+    void findsHitsInProjectOrder() {
+        chapter("one", "the cat", "a dog", "Cats again");
+        chapter("two", "no match", "concatenate");
+
+        assertEquals(List.of("0:0", "0:2", "1:1"), where(index.find("CAT")));
+        assertEquals(List.of(), index.find("bird"));
+        assertEquals(List.of(), index.find(""));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void searchesSecondaryTextButNotAcrossTheSeparator() {
+        Chapter chapter = chapter("one");
+        chapter.getSubtitles().add(new Subtitle(null, "hello", "world"));
+
+        assertEquals(1, index.find("wor").size());
+        assertEquals(0, index.find("low").size());
+        assertEquals(0, index.find("oworl").size());
+    }
+
+    @Test
+    void shortQueriesScanEveryRow() {
+        chapter("one", "ab", "xbz", "");
+
+        assertEquals(List.of("0:0", "0:1"), where(index.find("b")));
+        assertEquals(List.of("0:0"), where(index.find("AB")));
+    }
+
+    @Test
+    void followsRowListChanges() {
+        Chapter chapter = chapter("one", "alpha", "beta");
+        assertEquals(1, index.find("alp").size());
+
+        chapter.getSubtitles().add(1, new Subtitle(null, "alpine", ""));
+        assertEquals(List.of("0:0", "0:1"), where(index.find("alp")));
+
+        chapter.getSubtitles().remove(0);
+        assertEquals(List.of("0:0"), where(index.find("alp")));
+
+        chapter.getSubtitles().set(0, new Subtitle(null, "gamma", ""));
+        assertEquals(List.of(), index.find("alp"));
+        assertEquals(1, index.find("gam").size());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void updatePicksUpTextChangedInPlace() {
+        Chapter chapter = chapter("one", "before");
+        assertEquals(1, index.find("before").size());
+
+        Subtitle row = chapter.getSubtitles().get(0);
+        row.setPrimaryText("after");
+        assertEquals(List.of(), index.find("after"));
+
+        index.update(row);
+        assertEquals(1, index.find("after").size());
+        assertEquals(List.of(), index.find("before"));
+    }
+
+    @Test
+    void followsChapterRemovalAndSwappedRowLists() {
+        Chapter first = chapter("one", "shared word");
+        Chapter second = chapter("two", "shared word");
+        assertEquals(2, index.find("shared").size());
+
+        chapters.remove(first);
+        assertEquals(List.of("0:0"), where(index.find("shared")));
+
+        second.setSubtitles(List.of(new Subtitle(null, "replaced", "")));
+        assertEquals(List.of(), index.find("shared"));
+        assertEquals(1, index.find("replaced").size());
+
+        // The old list is no longer tracked, so its changes do not leak into the index
+        first.getSubtitles().add(new Subtitle(null, "shared again", ""));
+        assertEquals(List.of(), index.find("shared"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void findNextWrapsAround() {
+        chapter("one", "x match", "y");
+        chapter("two", "match z");
+
+        SubtitleSearchIndex.Hit next = index.findNext("match", 0, 0);
+        assertEquals(1, next.chapterIndex());
+        assertEquals(0, next.row());
+
+        SubtitleSearchIndex.Hit wrapped = index.findNext("match", 1, 0);
+        assertEquals(0, wrapped.chapterIndex());
+        assertEquals(0, wrapped.row());
+
+        assertNull(index.findNext("nothing", 0, 0));
+    }
+
+    @Test
+    void foldingAgreesWithPattern() {
+        chapter("one", "İstanbul", "STRASSE", "Ωmega");
+
+        // 'İ' lower-cases to two chars with String.toLowerCase; the index must still match like Pattern
+        assertEquals(1, index.find("ist").size());
+        assertEquals(1, index.find("İSTANBUL").size());
+
+        for (String query : List.of("ist", "İST", "istanbul", "straße", "strasse", "ωMEGA", "Ωmeg")) {
+            List<SubtitleSearchIndex.Hit> hits = index.find(query);
+            long expected = chapters.getFirst().getSubtitles().stream()
+                    .filter(s -> SubtitleSearchIndex.pattern(query).matcher(s.getPrimaryText()).find())
+                    .count();
+            assertEquals(expected, hits.size(), query);
+        }
+    }
+}